@@ -4,20 +4,49 @@ import com.example.demo.codegen.config.CodeGenConfig;
 import com.example.demo.codegen.config.CodeGenConfigLoader;
 import com.example.demo.codegen.core.EntityMetadata;
 import com.example.demo.codegen.core.EntityParser;
+import com.example.demo.codegen.core.EntityScanner;
+import com.example.demo.codegen.core.EntitySource;
 import com.example.demo.codegen.core.CodeTemplate;
+import com.example.demo.codegen.core.GenerationListener;
+import com.example.demo.codegen.core.GenerationManifest;
+import com.example.demo.codegen.core.OutputSink;
+import com.example.demo.codegen.core.RecordingOutputSink;
+import com.example.demo.codegen.core.TemplateExecution;
+import com.example.demo.codegen.metrics.JsonReportGenerationListener;
+import com.example.demo.codegen.schema.SchemaEntityRenderer;
+import com.example.demo.codegen.schema.SchemaIntrospector;
+import com.example.demo.codegen.schema.TableSchema;
+import com.example.demo.codegen.template.BulkCodeTemplate;
+import com.example.demo.codegen.template.CacheCodeTemplate;
 import com.example.demo.codegen.template.ControllerCodeTemplate;
 import com.example.demo.codegen.template.ConvertorCodeTemplate;
 import com.example.demo.codegen.template.DtoCodeTemplate;
 import com.example.demo.codegen.template.MapperCodeTemplate;
+import com.example.demo.codegen.template.PurgeCodeTemplate;
 import com.example.demo.codegen.template.QueryCodeTemplate;
 import com.example.demo.codegen.template.RepositoryCodeTemplate;
 import com.example.demo.codegen.template.ServiceCodeTemplate;
 import com.example.demo.codegen.template.ServiceImplCodeTemplate;
+import com.squareup.javapoet.JavaFile;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.sql.DataSource;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 重构后的代码生成器
@@ -29,11 +58,22 @@ public class CodeGenerator {
     private final CodeGenConfig config;
     private final EntityParser parser;
     private final List<CodeTemplate> templates;
+    private final GenerationManifest manifest;
+    private final OutputSink outputSink;
+    private final List<GenerationListener> listeners = new CopyOnWriteArrayList<>();
     
     public CodeGenerator(CodeGenConfig config) {
         this.config = config;
+        this.outputSink = config.getOutputSink();
         this.parser = new EntityParser(config);
         this.templates = initializeTemplates();
+        this.manifest = new GenerationManifest(config.getManifestFile());
+        if (isIncremental()) {
+            manifest.load();
+        }
+        if (config.getReportFile() != null) {
+            addListener(new JsonReportGenerationListener(config.getReportFile()));
+        }
     }
     
     /**
@@ -59,44 +99,300 @@ public class CodeGenerator {
         return new CodeGenerator(CodeGenConfigLoader.loadFromClasspath(configFile));
     }
     
+    /**
+     * 命令行入口：扫描源码目录中的实体并生成代码，可在编译实体之前执行
+     * 参数为可选的类路径配置文件名，默认 codegen.properties
+     */
+    public static void main(String[] args) {
+        CodeGenerator generator = args.length > 0 ? fromConfigFile(args[0]) : fromConfigFile();
+        generator.generateDiscovered();
+    }
+    
     /**
      * 生成代码
      */
     public void generate(Class<?> entityClass) {
+        run(List.of(parser.sourceOf(entityClass)), false);
+    }
+    
+    /**
+     * 直接从实体源码文件生成代码，不需要编译实体类
+     */
+    public void generate(Path sourceFile) {
+        EntitySource source;
+        try {
+            source = parser.sourceOf(sourceFile);
+        } catch (IOException e) {
+            log.error("Error during code generation for {}: {}", sourceFile, e.getMessage());
+            throw new RuntimeException("Code generation failed", e);
+        }
+        run(List.of(source), false);
+    }
+    
+    /**
+     * 并行批量生成代码，实体与模板的组合任务分发到 ForkJoinPool 执行
+     */
+    public void generateAll(Collection<? extends Class<?>> entityClasses) {
+        List<EntitySource> sources = new ArrayList<>(entityClasses.size());
+        for (Class<?> entityClass : entityClasses) {
+            sources.add(parser.sourceOf(entityClass));
+        }
+        generateSources(sources);
+    }
+    
+    /**
+     * 扫描源码目录中的实体并批量生成代码，实体类无需预先编译
+     */
+    public List<EntitySource> generateDiscovered() {
+        List<EntitySource> sources;
+        try {
+            sources = new EntityScanner(config, parser.getSourceCache()).scan();
+        } catch (IOException e) {
+            log.error("Error during entity discovery: {}", e.getMessage());
+            throw new RuntimeException("Entity discovery failed", e);
+        }
+        generateSources(sources);
+        return sources;
+    }
+    
+    /**
+     * 读取数据库表结构生成实体（@Table/@Id/@Column），再按实体生成各层代码；没有主键或使用复合主键的表跳过
+     */
+    public List<EntitySource> generateFromSchema(DataSource dataSource) {
+        List<TableSchema> tables;
         try {
-            // 解析实体元数据
-            EntityMetadata metadata = parser.parse(entityClass);
-            
-            // 更新配置中的基础包名
-            config.setBasePackage(metadata.getBasePackage());
-            
-            // 执行所有启用的模板
-            for (CodeTemplate template : templates) {
-                if (config.isTemplateEnabled(template.getTemplateName())) {
-                    try {
-                        template.generate(metadata, config);
-                        log.debug("Generated {} for {}", template.getTemplateName(), entityClass.getSimpleName());
-                    } catch (Exception e) {
-                        log.error("Failed to generate {} for {}: {}", 
-                                template.getTemplateName(), entityClass.getSimpleName(), e.getMessage());
-                    }
+            tables = new SchemaIntrospector(dataSource, config.getParallelism())
+                    .introspect(config.getSchemaCatalog(), config.getSchemaPattern(), config.getSchemaTablePattern());
+        } catch (SQLException e) {
+            log.error("Error during schema introspection: {}", e.getMessage());
+            throw new RuntimeException("Schema introspection failed", e);
+        }
+        
+        SchemaEntityRenderer renderer = new SchemaEntityRenderer(config);
+        List<EntitySource> sources = new ArrayList<>(tables.size());
+        for (TableSchema table : tables) {
+            if (table.getPrimaryKeys().isEmpty()) {
+                log.warn("Skipped table {} without primary key", table.getTableName());
+                continue;
+            }
+            if (table.getPrimaryKeys().size() > 1) {
+                log.warn("Skipped table {} with composite primary key {}", table.getTableName(), table.getPrimaryKeys());
+                continue;
+            }
+            JavaFile entity = renderer.render(table);
+            try {
+                outputSink.write(entity);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write entity for table " + table.getTableName(), e);
+            }
+            sources.add(EntitySource.of(entity.toString(), config.getOutputDir().resolve(OutputSink.relativePath(entity)),
+                    entity.packageName, entity.typeSpec.name));
+        }
+        generateSources(sources);
+        return sources;
+    }
+    
+    /**
+     * 并行批量生成实体源码对应的代码
+     */
+    public void generateSources(Collection<EntitySource> sources) {
+        run(sources, true);
+    }
+    
+    /**
+     * 执行一次生成：parallel 为 true 时在 ForkJoinPool 中并行处理实体与模板，否则在当前线程顺序执行
+     */
+    private void run(Collection<EntitySource> sources, boolean parallel) {
+        List<String> failed = Collections.synchronizedList(new ArrayList<>());
+        List<RuntimeException> errors = Collections.synchronizedList(new ArrayList<>());
+        List<ForkJoinTask<?>> entityTasks = new ArrayList<>(sources.size());
+        for (EntitySource source : sources) {
+            entityTasks.add(ForkJoinTask.adapt(() -> {
+                try {
+                    generateEntity(source, parallel);
+                } catch (RuntimeException e) {
+                    failed.add(source.getQualifiedName());
+                    errors.add(e);
+                    log.error("Skipped {}: {}", source.getQualifiedName(), e.getMessage());
+                    // 解析失败包装了原始异常，报告中使用原始原因
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    String error = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+                    listeners.forEach(listener -> listener.onEntityFailed(source.getQualifiedName(), source.getSourceFile(), error));
                 }
+            }));
+        }
+        
+        long start = System.nanoTime();
+        long writtenBefore = outputSink.getWrittenCount();
+        long skippedBefore = outputSink.getSkippedCount();
+        listeners.forEach(listener -> listener.onRunStarted(sources.size()));
+        if (parallel) {
+            ForkJoinPool pool = new ForkJoinPool(Math.max(1, config.getParallelism()));
+            try {
+                pool.submit(() -> ForkJoinTask.invokeAll(entityTasks)).join();
+            } finally {
+                pool.shutdown();
             }
-            
-            log.info("Code generation completed for {}", entityClass.getName());
-            
+        } else {
+            entityTasks.forEach(ForkJoinTask::invoke);
+        }
+        saveManifest();
+        long duration = System.nanoTime() - start;
+        listeners.forEach(listener -> listener.onRunCompleted(sources.size(), failed.size(), duration));
+        
+        log.info("Code generation completed for {} entities in {} ms, {} failed, {} files written, {} unchanged",
+                sources.size(), TimeUnit.NANOSECONDS.toMillis(duration), failed.size(),
+                outputSink.getWrittenCount() - writtenBefore, outputSink.getSkippedCount() - skippedBefore);
+        log.debug("Source cache: {}", parser.getSourceCache().stats());
+        if (!failed.isEmpty()) {
+            throw new RuntimeException("Code generation failed for " + failed, errors.get(0));
+        }
+    }
+    
+    /**
+     * 生成单个实体，每个实体使用独立的配置视图；forkTemplates 为 true 时模板作为 ForkJoin 子任务并行执行
+     * 增量模式下输入未变化的模板直接跳过，全部跳过时不再解析实体源码
+     */
+    private void generateEntity(EntitySource source, boolean forkTemplates) {
+        CodeGenConfig entityConfig = config.forBasePackage(parser.extractBasePackage(source.getPackageName()));
+        
+        Map<CodeTemplate, String> pending = pendingTemplates(source, entityConfig);
+        if (pending.isEmpty()) {
+            log.debug("Skipped {}, generated code is up to date", source.getQualifiedName());
+            return;
+        }
+        
+        String entityName = source.getQualifiedName();
+        long parseStart = System.nanoTime();
+        EntityMetadata metadata = parseEntity(source);
+        long parseNanos = System.nanoTime() - parseStart;
+        listeners.forEach(listener -> listener.onEntityParsed(entityName, parseNanos));
+        
+        if (forkTemplates) {
+            List<ForkJoinTask<?>> templateTasks = new ArrayList<>(pending.size());
+            pending.forEach((template, inputHash) -> templateTasks.add(ForkJoinTask.adapt(
+                    () -> runTemplate(template, metadata, entityConfig, entityName, inputHash))));
+            ForkJoinTask.invokeAll(templateTasks);
+        } else {
+            pending.forEach((template, inputHash) -> runTemplate(template, metadata, entityConfig, entityName, inputHash));
+        }
+    }
+    
+    /**
+     * 计算需要执行的模板及其输入哈希
+     */
+    private Map<CodeTemplate, String> pendingTemplates(EntitySource source, CodeGenConfig entityConfig) {
+        Map<CodeTemplate, String> pending = new LinkedHashMap<>();
+        String sourceHash = isIncremental() ? sourceHash(source) : null;
+        String configFingerprint = sourceHash != null ? entityConfig.fingerprint() : null;
+        
+        for (CodeTemplate template : enabledTemplates(entityConfig, source.getClassName())) {
+            if (sourceHash == null) {
+                pending.put(template, null);
+                continue;
+            }
+            String inputHash = GenerationManifest.inputHash(sourceHash, configFingerprint, template);
+            if (!manifest.isUpToDate(GenerationManifest.key(source.getQualifiedName(), template), inputHash, outputSink)) {
+                pending.put(template, inputHash);
+            }
+        }
+        return pending;
+    }
+    
+    /**
+     * 实体源码内容哈希，源码不可读时返回 null（交由解析阶段报告错误）
+     */
+    private String sourceHash(EntitySource source) {
+        if (source.getContent() != null) {
+            return GenerationManifest.sha256(source.getContent().getBytes(StandardCharsets.UTF_8));
+        }
+        try {
+            return GenerationManifest.sha256(Files.readAllBytes(source.getSourceFile()));
         } catch (IOException e) {
-            log.error("Error during code generation for {}: {}", entityClass.getName(), e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * 解析实体元数据
+     */
+    private EntityMetadata parseEntity(EntitySource source) {
+        try {
+            return parser.parse(source);
+        } catch (IOException e) {
+            log.error("Error during code generation for {}: {}", source.getQualifiedName(), e.getMessage());
             throw new RuntimeException("Code generation failed", e);
         }
     }
-
+    
+    /**
+     * 获取当前配置下启用的模板
+     */
+    private List<CodeTemplate> enabledTemplates(CodeGenConfig entityConfig, String entityName) {
+        List<CodeTemplate> enabled = new ArrayList<>();
+        for (CodeTemplate template : templates) {
+            if (entityConfig.isTemplateEnabled(template.getTemplateName(), entityName)) {
+                enabled.add(template);
+            }
+        }
+        return enabled;
+    }
+    
+    /**
+     * 执行单个模板，失败时记录日志和度量，不影响其他模板；成功后记录到增量清单
+     */
+    private void runTemplate(CodeTemplate template, EntityMetadata metadata, CodeGenConfig entityConfig,
+                             String entityName, String inputHash) {
+        // 有监听器或需要记录增量清单时为本次调用包装输出目标，以统计该模板的写出情况和写出的文件
+        RecordingOutputSink recorder = listeners.isEmpty() && inputHash == null ? null : new RecordingOutputSink(outputSink);
+        CodeGenConfig templateConfig = recorder == null ? entityConfig : entityConfig.toBuilder().outputSink(recorder).build();
+        String error = null;
+        long start = System.nanoTime();
+        try {
+            template.generate(metadata, templateConfig);
+            if (inputHash != null) {
+                manifest.record(GenerationManifest.key(entityName, template), inputHash, recorder.getPaths());
+            }
+            log.debug("Generated {} for {}", template.getTemplateName(), metadata.getClassName());
+        } catch (Exception e) {
+            error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            log.error("Failed to generate {} for {}", template.getTemplateName(), entityName, e);
+        }
+        
+        if (!listeners.isEmpty()) {
+            TemplateExecution execution = new TemplateExecution(entityName, template.getTemplateName(),
+                    System.nanoTime() - start, recorder.getWriteNanos(), recorder.getRenderedBytes(),
+                    (int) recorder.getWrittenCount(), (int) recorder.getSkippedCount(), error);
+            listeners.forEach(listener -> listener.onTemplateCompleted(execution));
+        }
+    }
+    
+    /**
+     * 是否使用增量清单，内存、归档等不保留输出的目标始终全量生成
+     */
+    private boolean isIncremental() {
+        return config.isIncremental() && outputSink.supportsIncremental();
+    }
+    
+    /**
+     * 保存增量清单，失败时只影响下次生成的跳过判断
+     */
+    private void saveManifest() {
+        if (!isIncremental()) {
+            return;
+        }
+        try {
+            manifest.save();
+        } catch (IOException e) {
+            log.warn("Failed to save generation manifest {}: {}", config.getManifestFile(), e.getMessage());
+        }
+    }
     
     /**
      * 初始化模板列表
      */
     private List<CodeTemplate> initializeTemplates() {
-        List<CodeTemplate> templateList = new ArrayList<>();
+        List<CodeTemplate> templateList = new CopyOnWriteArrayList<>();
         templateList.add(new ControllerCodeTemplate());
         templateList.add(new ConvertorCodeTemplate());
         templateList.add(new DtoCodeTemplate());
@@ -106,6 +402,9 @@ public class CodeGenerator {
         templateList.add(new RepositoryCodeTemplate());
         templateList.add(new ServiceCodeTemplate());
         templateList.add(new ServiceImplCodeTemplate());
+        templateList.add(new CacheCodeTemplate());
+        templateList.add(new BulkCodeTemplate());
+        templateList.add(new PurgeCodeTemplate());
 
         return templateList;
     }
@@ -117,6 +416,13 @@ public class CodeGenerator {
         templates.add(template);
     }
     
+    /**
+     * 添加生成监听器
+     */
+    public void addListener(GenerationListener listener) {
+        listeners.add(listener);
+    }
+    
     /**
      * 获取配置
      */
@@ -0,0 +1,34 @@
+package com.example.demo.codegen.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 实体上的索引声明，代码生成器只为索引首列和唯一键生成查找方法
+ * 生成器从源码读取，不保留到字节码
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+@Repeatable(Indexes.class)
+public @interface Index {
+    
+    /**
+     * 索引名
+     */
+    String name() default "";
+    
+    /**
+     * 按索引顺序排列的列名
+     */
+    String[] columns();
+    
+    /**
+     * 是否唯一索引
+     */
+    boolean unique() default false;
+}
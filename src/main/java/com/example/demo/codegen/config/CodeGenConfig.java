@@ -1,26 +1,55 @@
 package com.example.demo.codegen.config;
 
+import com.example.demo.codegen.core.FileSystemOutputSink;
+import com.example.demo.codegen.core.OutputSink;
 import lombok.Data;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.TreeMap;
 
 /**
  * 代码生成器配置类
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class CodeGenConfig {
     
+    public static final String CONVERTOR_STYLE_MAPSTRUCT = "mapstruct";
+    
+    public static final String CONVERTOR_STYLE_PLAIN = "plain";
+    
+    public static final String CONTROLLER_STYLE_BLOCKING = "blocking";
+    
+    public static final String CONTROLLER_STYLE_ASYNC = "async";
+    
     /**
      * 输出目录
      */
     @Builder.Default
     private Path outputDir = Paths.get("src/main/java");
     
+    /**
+     * 输出目标，为空时写入输出目录（内容未变化的文件跳过写入）
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private OutputSink outputSink;
+    
+    /**
+     * 实体扫描的源码目录，为空时使用输出目录
+     */
+    @Builder.Default
+    private List<Path> sourceRoots = new ArrayList<>();
+    
     /**
      * 基础包名
      */
@@ -34,6 +63,28 @@ public class CodeGenConfig {
     @Builder.Default
     private String entityPackageSuffix = ".dal.entity";
     
+    /**
+     * 从数据库表结构生成实体时的目录，为空表示不限
+     */
+    private String schemaCatalog;
+    
+    /**
+     * 从数据库表结构生成实体时的模式名匹配，为空表示不限
+     */
+    private String schemaPattern;
+    
+    /**
+     * 从数据库表结构生成实体时的表名匹配
+     */
+    @Builder.Default
+    private String schemaTablePattern = "%";
+    
+    /**
+     * 表名转换为实体类名时去除的前缀，如 tb_
+     */
+    @Builder.Default
+    private List<String> tablePrefixes = new ArrayList<>();
+    
     /**
      * 各层包名配置
      */
@@ -44,6 +95,11 @@ public class CodeGenConfig {
         put("service", ".service");
         put("serviceImpl", ".service.impl");
         put("query", ".query");
+        put("controller", ".controller");
+        put("convertor", ".mapstruct");
+        put("repository", ".repository");
+        put("bulk", ".bulk");
+        put("job", ".job");
     }};
     
     /**
@@ -56,9 +112,124 @@ public class CodeGenConfig {
         put("service", true);
         put("serviceImpl", true);
         put("mapstruct", true);
+        put("convertor", true);
+        put("controller", true);
         put("query", true);
+        put("cache", false);
+        put("bulk", false);
+        put("purge", false);
     }};
     
+    /**
+     * 生成代码中批量操作的分块大小（每个 JDBC 批次或 IN 列表的最大行数）
+     */
+    @Builder.Default
+    private int batchSize = 1000;
+    
+    /**
+     * 是否在生成的 Controller 中添加流式导出接口（MyBatis Cursor + StreamingResponseBody）
+     */
+    @Builder.Default
+    private boolean streamExport = false;
+    
+    /**
+     * 流式导出查询的 JDBC fetchSize
+     */
+    @Builder.Default
+    private int streamFetchSize = 1000;
+    
+    /**
+     * 是否生成记录已设置字段的 DTO，以及只更新这些字段对应列的 updateFieldsById 和 PATCH 接口
+     */
+    @Builder.Default
+    private boolean dirtyTracking = false;
+    
+    /**
+     * 逻辑删除字段名，为空或实体中不存在时按 @Column(isLogicDelete = true) 和命名约定（deleted、is_deleted、del_flag 等）识别
+     */
+    private String logicDeleteField;
+    
+    /**
+     * 生成的清理任务每批物理删除的最大行数
+     */
+    @Builder.Default
+    private int purgeBatchSize = 500;
+    
+    /**
+     * 生成的清理任务两批之间的停顿时间（毫秒）
+     */
+    @Builder.Default
+    private long purgePauseMillis = 100;
+    
+    /**
+     * 生成的缓存装饰器的最大缓存条目数
+     */
+    @Builder.Default
+    private long cacheMaxSize = 10_000;
+    
+    /**
+     * 生成的缓存装饰器的写入后过期时间（秒）
+     */
+    @Builder.Default
+    private long cacheTtlSeconds = 300;
+    
+    /**
+     * 生成的 Service 实现中分页总数的缓存时间（秒），0 表示不缓存
+     */
+    @Builder.Default
+    private long pageCountCacheSeconds = 30;
+    
+    /**
+     * 转换器风格：mapstruct（MapStruct 接口，需注解处理器）或 plain（直接字段复制的普通 Java 类）
+     */
+    @Builder.Default
+    private String convertorStyle = CONVERTOR_STYLE_MAPSTRUCT;
+    
+    /**
+     * Controller 风格：blocking（在请求线程上同步执行）或 async（返回 CompletableFuture，在执行器上执行）
+     */
+    @Builder.Default
+    private String controllerStyle = CONTROLLER_STYLE_BLOCKING;
+    
+    /**
+     * async 风格 Controller 注入的执行器 Bean 名称
+     */
+    @Builder.Default
+    private String controllerExecutor = "applicationTaskExecutor";
+    
+    /**
+     * 批量生成时的最大并行度
+     */
+    @Builder.Default
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    
+    /**
+     * 是否启用增量生成（输入未变化的实体/模板组合将被跳过）
+     */
+    @Builder.Default
+    private boolean incremental = true;
+    
+    /**
+     * 增量生成清单文件
+     */
+    @Builder.Default
+    private Path manifestFile = Paths.get("target/codegen/manifest.properties");
+    
+    /**
+     * JSON 运行报告文件，为空时不输出报告
+     */
+    private Path reportFile;
+    
+    /**
+     * 获取输出目标，未设置时创建写入输出目录的默认实现
+     */
+    public synchronized OutputSink getOutputSink() {
+        if (outputSink == null) {
+            outputSink = new FileSystemOutputSink(outputDir);
+        }
+        return outputSink;
+    }
+    
     /**
      * 获取完整包名
      */
@@ -72,4 +243,51 @@ public class CodeGenConfig {
     public boolean isTemplateEnabled(String templateName) {
         return templateEnabled.getOrDefault(templateName, false);
     }
+    
+    /**
+     * 检查模板对指定实体是否启用，"模板名:实体类名"（如 cache:User）的配置优先于模板的全局开关
+     */
+    public boolean isTemplateEnabled(String templateName, String entityName) {
+        Boolean entityEnabled = templateEnabled.get(templateName + ":" + entityName);
+        return entityEnabled != null ? entityEnabled : isTemplateEnabled(templateName);
+    }
+    
+    /**
+     * 是否生成普通 Java 转换器
+     */
+    public boolean isPlainConvertor() {
+        return CONVERTOR_STYLE_PLAIN.equalsIgnoreCase(convertorStyle);
+    }
+    
+    /**
+     * 是否生成异步 Controller
+     */
+    public boolean isAsyncController() {
+        return CONTROLLER_STYLE_ASYNC.equalsIgnoreCase(controllerStyle);
+    }
+    
+    /**
+     * 创建单个实体使用的配置视图，包名映射不可修改，不影响共享配置
+     */
+    public CodeGenConfig forBasePackage(String basePackage) {
+        return toBuilder()
+                .basePackage(basePackage)
+                .packageSuffixes(Collections.unmodifiableMap(new HashMap<>(packageSuffixes)))
+                .templateEnabled(Collections.unmodifiableMap(new HashMap<>(templateEnabled)))
+                .build();
+    }
+    
+    /**
+     * 影响生成结果的配置指纹，与模板启用状态、扫描目录、并行度、报告文件等运行参数无关
+     */
+    public String fingerprint() {
+        return toBuilder()
+                .packageSuffixes(new TreeMap<>(packageSuffixes))
+                .templateEnabled(new TreeMap<>())
+                .sourceRoots(new ArrayList<>())
+                .parallelism(0)
+                .reportFile(null)
+                .build()
+                .toString();
+    }
 }
\ No newline at end of file
@@ -4,8 +4,11 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
@@ -63,6 +66,33 @@ public class CodeGenConfigLoader {
         String entityPackageSuffix = properties.getProperty("codegen.entity.package.suffix", ".dal.entity");
         builder.entityPackageSuffix(entityPackageSuffix);
         
+        // 实体扫描目录，多个目录以逗号分隔
+        List<Path> sourceRoots = new ArrayList<>();
+        for (String root : properties.getProperty("codegen.source.roots", "").split(",")) {
+            if (!root.isBlank()) {
+                sourceRoots.add(Paths.get(root.trim()));
+            }
+        }
+        builder.sourceRoots(sourceRoots);
+        
+        // 数据库表结构
+        String schemaCatalog = properties.getProperty("codegen.schema.catalog", "");
+        if (!schemaCatalog.isBlank()) {
+            builder.schemaCatalog(schemaCatalog.trim());
+        }
+        String schemaPattern = properties.getProperty("codegen.schema.pattern", "");
+        if (!schemaPattern.isBlank()) {
+            builder.schemaPattern(schemaPattern.trim());
+        }
+        builder.schemaTablePattern(properties.getProperty("codegen.schema.tables", "%").trim());
+        List<String> tablePrefixes = new ArrayList<>();
+        for (String prefix : properties.getProperty("codegen.schema.table.prefixes", "").split(",")) {
+            if (!prefix.isBlank()) {
+                tablePrefixes.add(prefix.trim());
+            }
+        }
+        builder.tablePrefixes(tablePrefixes);
+        
         // 包名配置
         Map<String, String> packageSuffixes = new HashMap<>();
         packageSuffixes.put("dto", properties.getProperty("codegen.package.dto", ".dto"));
@@ -70,6 +100,11 @@ public class CodeGenConfigLoader {
         packageSuffixes.put("service", properties.getProperty("codegen.package.service", ".service"));
         packageSuffixes.put("serviceImpl", properties.getProperty("codegen.package.serviceImpl", ".service.impl"));
         packageSuffixes.put("query", properties.getProperty("codegen.package.query", ".query"));
+        packageSuffixes.put("controller", properties.getProperty("codegen.package.controller", ".controller"));
+        packageSuffixes.put("convertor", properties.getProperty("codegen.package.convertor", ".mapstruct"));
+        packageSuffixes.put("repository", properties.getProperty("codegen.package.repository", ".repository"));
+        packageSuffixes.put("bulk", properties.getProperty("codegen.package.bulk", ".bulk"));
+        packageSuffixes.put("job", properties.getProperty("codegen.package.job", ".job"));
         builder.packageSuffixes(packageSuffixes);
         
         // 模板启用配置
@@ -79,9 +114,80 @@ public class CodeGenConfigLoader {
         templateEnabled.put("service", getBooleanProperty(properties, "codegen.template.service.enabled", true));
         templateEnabled.put("serviceImpl", getBooleanProperty(properties, "codegen.template.serviceImpl.enabled", true));
         templateEnabled.put("mapstruct", getBooleanProperty(properties, "codegen.template.mapstruct.enabled", true));
+        // 转换器模板兼容旧的 mapstruct 开关
+        templateEnabled.put("convertor", getBooleanProperty(properties, "codegen.template.convertor.enabled",
+                templateEnabled.get("mapstruct")));
+        templateEnabled.put("controller", getBooleanProperty(properties, "codegen.template.controller.enabled", true));
         templateEnabled.put("query", getBooleanProperty(properties, "codegen.template.query.enabled", true));
+        templateEnabled.put("cache", getBooleanProperty(properties, "codegen.template.cache.enabled", false));
+        templateEnabled.put("bulk", getBooleanProperty(properties, "codegen.template.bulk.enabled", false));
+        templateEnabled.put("purge", getBooleanProperty(properties, "codegen.template.purge.enabled", false));
+        
+        // 按实体启用模板：codegen.template.<模板名>.entities=User,Order
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith("codegen.template.") && key.endsWith(".entities")) {
+                String templateName = key.substring("codegen.template.".length(), key.length() - ".entities".length());
+                for (String entity : properties.getProperty(key).split(",")) {
+                    if (!entity.isBlank()) {
+                        templateEnabled.put(templateName + ":" + entity.trim(), true);
+                    }
+                }
+            }
+        }
         builder.templateEnabled(templateEnabled);
         
+        // 缓存装饰器
+        builder.cacheMaxSize(getIntProperty(properties, "codegen.cache.max.size", 10_000));
+        builder.cacheTtlSeconds(getIntProperty(properties, "codegen.cache.ttl.seconds", 300));
+        
+        // 分页总数缓存
+        builder.pageCountCacheSeconds(getIntProperty(properties, "codegen.page.count.cache.seconds", 30));
+        
+        // 生成代码的批量分块大小
+        int batchSize = getIntProperty(properties, "codegen.batch.size", 1000);
+        if (batchSize <= 0) {
+            log.warn("配置项 codegen.batch.size 必须为正数，使用默认值 1000");
+            batchSize = 1000;
+        }
+        builder.batchSize(batchSize);
+        
+        // 流式导出
+        builder.streamExport(getBooleanProperty(properties, "codegen.stream.export", false));
+        builder.streamFetchSize(getIntProperty(properties, "codegen.stream.fetch.size", 1000));
+        
+        // 部分字段更新
+        builder.dirtyTracking(getBooleanProperty(properties, "codegen.dto.dirty.tracking", false));
+        
+        // 逻辑删除与清理任务
+        String logicDeleteField = properties.getProperty("codegen.logic.delete.field", "");
+        if (!logicDeleteField.isBlank()) {
+            builder.logicDeleteField(logicDeleteField.trim());
+        }
+        builder.purgeBatchSize(getIntProperty(properties, "codegen.purge.batch.size", 500));
+        builder.purgePauseMillis(getIntProperty(properties, "codegen.purge.pause.millis", 100));
+        
+        // 转换器风格
+        builder.convertorStyle(properties.getProperty("codegen.convertor.style", CodeGenConfig.CONVERTOR_STYLE_MAPSTRUCT).trim());
+        
+        // Controller 风格
+        builder.controllerStyle(properties.getProperty("codegen.controller.style", CodeGenConfig.CONTROLLER_STYLE_BLOCKING).trim());
+        builder.controllerExecutor(properties.getProperty("codegen.controller.executor", "applicationTaskExecutor").trim());
+        
+        // 并行配置
+        builder.parallelism(getIntProperty(properties, "codegen.parallelism",
+                Runtime.getRuntime().availableProcessors()));
+        
+        // 增量生成配置
+        builder.incremental(getBooleanProperty(properties, "codegen.incremental", true));
+        builder.manifestFile(Paths.get(properties.getProperty("codegen.incremental.manifest",
+                "target/codegen/manifest.properties")));
+        
+        // 运行报告
+        String reportFile = properties.getProperty("codegen.report.file", "");
+        if (!reportFile.isBlank()) {
+            builder.reportFile(Paths.get(reportFile.trim()));
+        }
+        
         return builder.build();
     }
     
@@ -96,6 +202,22 @@ public class CodeGenConfigLoader {
         return Boolean.parseBoolean(value);
     }
     
+    /**
+     * 获取整数属性值
+     */
+    private static int getIntProperty(Properties properties, String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            log.warn("配置项 {} 的值 {} 不是有效整数，使用默认值 {}", key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+    
     /**
      * 创建默认配置
      */
@@ -18,4 +18,11 @@ public interface CodeTemplate {
      * 获取模板名称
      */
     String getTemplateName();
+    
+    /**
+     * 获取模板版本，模板输出格式变化时递增，用于增量生成判断
+     */
+    default String getVersion() {
+        return "1";
+    }
 }
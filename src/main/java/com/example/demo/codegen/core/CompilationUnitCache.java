@@ -0,0 +1,142 @@
+package com.example.demo.codegen.core;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import lombok.Value;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 源码解析缓存
+ * 按文件路径缓存 CompilationUnit，并以修改时间和文件大小校验是否失效；容量有限，按 LRU 淘汰。
+ * 解析使用线程独享的 JavaParser 实例，避免 StaticJavaParser 的全局状态在并发场景下共享。
+ */
+public class CompilationUnitCache {
+
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    private static final CompilationUnitCache SHARED = new CompilationUnitCache(DEFAULT_MAX_SIZE);
+
+    private static final ThreadLocal<JavaParser> PARSERS = ThreadLocal.withInitial(() -> new JavaParser(
+            new ParserConfiguration().setLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_17)));
+
+    private final int maxSize;
+
+    private final Map<Path, CachedUnit> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CompilationUnitCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, CachedUnit> eldest) {
+                if (size() > CompilationUnitCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * JVM 内共享的缓存实例
+     */
+    public static CompilationUnitCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * 获取源码文件的语法树，文件未变化时直接返回缓存结果
+     */
+    public CompilationUnit get(Path sourceFile) throws IOException {
+        Path key = sourceFile.toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        long size = attributes.size();
+
+        synchronized (entries) {
+            CachedUnit entry = entries.get(key);
+            if (entry != null && entry.lastModified() == lastModified && entry.size() == size) {
+                hits.increment();
+                return entry.unit();
+            }
+        }
+
+        // 解析在锁外进行，同一文件的并发未命中可能重复解析，但结果一致
+        misses.increment();
+        CompilationUnit unit = parse(key);
+        synchronized (entries) {
+            entries.put(key, new CachedUnit(lastModified, size, unit));
+        }
+        return unit;
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * 获取缓存统计信息
+     */
+    public Stats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    /**
+     * 解析内存中的源码文本，结果不缓存
+     */
+    public static CompilationUnit parse(String source) {
+        ParseResult<CompilationUnit> result = PARSERS.get().parse(source);
+        if (!result.isSuccessful() || result.getResult().isEmpty()) {
+            throw new ParseProblemException(result.getProblems());
+        }
+        return result.getResult().get();
+    }
+
+    private static CompilationUnit parse(Path sourceFile) throws IOException {
+        ParseResult<CompilationUnit> result = PARSERS.get().parse(sourceFile);
+        if (!result.isSuccessful() || result.getResult().isEmpty()) {
+            throw new ParseProblemException(result.getProblems());
+        }
+        return result.getResult().get();
+    }
+
+    private record CachedUnit(long lastModified, long size, CompilationUnit unit) {
+    }
+
+    /**
+     * 缓存统计
+     */
+    @Value
+    public static class Stats {
+        long hits;
+        long misses;
+        long evictions;
+        int size;
+    }
+}
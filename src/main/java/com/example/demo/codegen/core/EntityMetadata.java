@@ -4,6 +4,7 @@ import com.github.javaparser.ast.body.FieldDeclaration;
 import lombok.Data;
 import lombok.Builder;
 
+import java.nio.file.Path;
 import java.util.List;
 
 /**
@@ -28,6 +29,11 @@ public class EntityMetadata {
      */
     private String basePackage;
     
+    /**
+     * 表名（@Table 注解值）
+     */
+    private String tableName;
+    
     /**
      * 类注释
      */
@@ -44,7 +50,27 @@ public class EntityMetadata {
     private List<FieldDeclaration> fields;
     
     /**
-     * 实体类
+     * 实体上声明的索引
+     */
+    private List<IndexDefinition> indexes;
+    
+    /**
+     * 实体源码中的 import 声明
+     */
+    private List<String> imports;
+    
+    /**
+     * 实体源码文件
+     */
+    private Path sourceFile;
+    
+    /**
+     * 实体类，可选；元数据完全来自源码，从源码扫描或源码文件生成时为 null
      */
     private Class<?> entityClass;
-}
\ No newline at end of file
+    
+    /**
+     * 实体符号表，解析时一次性计算，供所有模板共享
+     */
+    private EntitySymbols symbols;
+}
@@ -1,47 +1,78 @@
 package com.example.demo.codegen.core;
 
 import com.example.demo.codegen.config.CodeGenConfig;
-import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.PackageDeclaration;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.comments.JavadocComment;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 实体解析器
  */
 @Slf4j
-@RequiredArgsConstructor
 public class EntityParser {
     
     private final CodeGenConfig config;
     
+    private final CompilationUnitCache sourceCache;
+    
+    public EntityParser(CodeGenConfig config) {
+        this(config, CompilationUnitCache.shared());
+    }
+    
+    public EntityParser(CodeGenConfig config, CompilationUnitCache sourceCache) {
+        this.config = config;
+        this.sourceCache = sourceCache;
+    }
+    
     /**
      * 解析实体类
      */
     public EntityMetadata parse(Class<?> entityClass) throws IOException {
-        // 获取源码文件路径
-        String classPath = entityClass.getName().replace(".", "/") + ".java";
-        String sourcePath = config.getOutputDir() + "/" + classPath;
-        File sourceFile = new File(sourcePath);
+        return parse(sourceOf(entityClass));
+    }
+    
+    /**
+     * 解析实体源码文件，类名取自文件名，不需要已编译的实体类
+     */
+    public EntityMetadata parse(Path sourceFile) throws IOException {
+        return parse(sourceOf(sourceFile));
+    }
+    
+    /**
+     * 解析实体源码，包名、类名、字段和注解全部来自源码，实体类可选
+     */
+    public EntityMetadata parse(EntitySource source) throws IOException {
+        Path sourceFile = source.getSourceFile();
         
-        if (!sourceFile.exists()) {
-            throw new IllegalArgumentException("Source file not found: " + sourcePath);
+        CompilationUnit cu;
+        if (source.getContent() != null) {
+            cu = CompilationUnitCache.parse(source.getContent());
+        } else {
+            if (!Files.exists(sourceFile)) {
+                throw new IllegalArgumentException("Source file not found: " + sourceFile);
+            }
+            // 解析源码（命中缓存时不再重复解析）
+            cu = sourceCache.get(sourceFile);
         }
-        
-        // 解析源码
-        CompilationUnit cu = StaticJavaParser.parse(sourceFile);
-        String className = entityClass.getSimpleName();
+        String className = source.getClassName();
         
         ClassOrInterfaceDeclaration parsedClass = cu.getClassByName(className)
                 .orElseThrow(() -> new IllegalArgumentException(className + " class not found"));
         
+        // 以源码中的包声明为准
+        String packageName = cu.getPackageDeclaration().isPresent() ? packageOf(cu) : source.getPackageName();
+        
         // 获取基础包名
-        String basePackage = extractBasePackage(entityClass.getPackageName());
+        String basePackage = extractBasePackage(packageName);
         
         // 获取类注释
         String classJavadoc = parsedClass.getJavadocComment()
@@ -51,21 +82,80 @@ public class EntityParser {
         // 获取ID字段类型
         String idType = TemplateUtils.getIdFieldType(parsedClass);
         
-        return EntityMetadata.builder()
+        List<String> imports = new ArrayList<>();
+        for (ImportDeclaration importDeclaration : cu.getImports()) {
+            if (!importDeclaration.isStatic() && !importDeclaration.isAsterisk()) {
+                imports.add(importDeclaration.getNameAsString());
+            }
+        }
+        
+        EntityMetadata metadata = EntityMetadata.builder()
                 .className(className)
-                .packageName(entityClass.getPackageName())
+                .packageName(packageName)
                 .basePackage(basePackage)
+                .tableName(TemplateUtils.getTableName(parsedClass))
                 .classJavadoc(classJavadoc)
                 .idType(idType)
                 .fields(parsedClass.getFields())
-                .entityClass(entityClass)
+                .indexes(TemplateUtils.getIndexes(parsedClass))
+                .imports(imports)
+                .sourceFile(source.getSourceFile())
+                .entityClass(source.getEntityClass())
                 .build();
+        
+        // 一次性解析各层类型，模板直接复用
+        metadata.setSymbols(EntitySymbols.resolve(metadata, config));
+        return metadata;
+    }
+    
+    /**
+     * 获取源码解析缓存
+     */
+    public CompilationUnitCache getSourceCache() {
+        return sourceCache;
+    }
+    
+    /**
+     * 获取已加载实体类的源码描述
+     */
+    public EntitySource sourceOf(Class<?> entityClass) {
+        return EntitySource.of(entityClass, resolveSourcePath(entityClass));
+    }
+    
+    /**
+     * 获取源码文件的实体描述，包名取自包声明，类名取自文件名
+     */
+    public EntitySource sourceOf(Path sourceFile) throws IOException {
+        if (!Files.exists(sourceFile)) {
+            throw new IllegalArgumentException("Source file not found: " + sourceFile);
+        }
+        CompilationUnit cu = sourceCache.get(sourceFile);
+        String fileName = sourceFile.getFileName().toString();
+        String className = fileName.endsWith(".java") ? fileName.substring(0, fileName.length() - 5) : fileName;
+        return EntitySource.of(sourceFile, packageOf(cu), className);
+    }
+    
+    /**
+     * 获取实体源码文件路径
+     */
+    public Path resolveSourcePath(Class<?> entityClass) {
+        String classPath = entityClass.getName().replace(".", "/") + ".java";
+        return config.getOutputDir().resolve(classPath);
+    }
+    
+    /**
+     * 获取源码的包名
+     */
+    private static String packageOf(CompilationUnit cu) {
+        return cu.getPackageDeclaration()
+                .map(PackageDeclaration::getNameAsString)
+                .orElse("");
     }
     
     /**
      * 提取基础包名
      */
-    private String extractBasePackage(String fullPackage) {
+    public String extractBasePackage(String fullPackage) {
         int entityIndex = fullPackage.lastIndexOf(config.getEntityPackageSuffix());
         if (entityIndex > 0) {
             return fullPackage.substring(0, entityIndex);
@@ -0,0 +1,137 @@
+package com.example.demo.codegen.core;
+
+import com.example.demo.codegen.config.CodeGenConfig;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.PackageDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 实体源码扫描器
+ * 并行遍历源码目录，查找实体包（entityPackageSuffix）下带有 @Table 注解的类，无需加载或编译实体类
+ */
+@Slf4j
+public class EntityScanner {
+
+    private static final String TABLE_ANNOTATION = "Table";
+
+    private final CodeGenConfig config;
+
+    private final CompilationUnitCache sourceCache;
+
+    public EntityScanner(CodeGenConfig config, CompilationUnitCache sourceCache) {
+        this.config = config;
+        this.sourceCache = sourceCache;
+    }
+
+    /**
+     * 扫描所有源码目录，结果按全限定类名排序
+     */
+    public List<EntitySource> scan() throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, config.getParallelism()));
+        try {
+            return pool.submit(this::scanInPool).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Entity scan interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException cause) {
+                throw cause.getCause();
+            }
+            throw new IllegalStateException("Entity scan failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private List<EntitySource> scanInPool() {
+        // 先收集候选文件，再并行解析，保证解析阶段不受目录数量限制
+        List<Path> candidates = sourceRoots().parallelStream()
+                .filter(Files::isDirectory)
+                .flatMap(root -> walk(root).stream())
+                .collect(Collectors.toList());
+
+        List<EntitySource> sources = candidates.parallelStream()
+                .flatMap(this::readEntities)
+                .sorted(Comparator.comparing(EntitySource::getQualifiedName))
+                .collect(Collectors.toList());
+
+        log.info("Discovered {} entities in {} candidate files", sources.size(), candidates.size());
+        return sources;
+    }
+
+    /**
+     * 源码目录，未配置时使用输出目录
+     */
+    private List<Path> sourceRoots() {
+        List<Path> roots = config.getSourceRoots();
+        return roots == null || roots.isEmpty() ? List.of(config.getOutputDir()) : roots;
+    }
+
+    /**
+     * 遍历目录，只保留位于实体包目录下的 Java 文件
+     */
+    private List<Path> walk(Path root) {
+        Path entityDir = entityPackageDir();
+        try (Stream<Path> files = Files.walk(root)) {
+            return files
+                    .filter(file -> file.getFileName().toString().endsWith(".java"))
+                    .filter(file -> entityDir == null || file.getParent().endsWith(entityDir))
+                    .collect(Collectors.toCollection(ArrayList::new));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 实体包后缀对应的相对目录，如 .dal.entity 对应 dal/entity
+     */
+    private Path entityPackageDir() {
+        String suffix = config.getEntityPackageSuffix();
+        if (suffix == null || suffix.isBlank()) {
+            return null;
+        }
+        String[] segments = suffix.replaceFirst("^\\.", "").split("\\.");
+        return Paths.get(segments[0], Arrays.copyOfRange(segments, 1, segments.length));
+    }
+
+    /**
+     * 读取文件中的实体类声明，解析失败的文件记录日志后跳过
+     */
+    private Stream<EntitySource> readEntities(Path file) {
+        CompilationUnit cu;
+        try {
+            cu = sourceCache.get(file);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Skipped unparsable source {}: {}", file, e.getMessage());
+            return Stream.empty();
+        }
+
+        String packageName = cu.getPackageDeclaration()
+                .map(PackageDeclaration::getNameAsString)
+                .orElse("");
+        if (!packageName.endsWith(config.getEntityPackageSuffix())) {
+            return Stream.empty();
+        }
+
+        return cu.getTypes().stream()
+                .filter(type -> type instanceof ClassOrInterfaceDeclaration)
+                .map(type -> (ClassOrInterfaceDeclaration) type)
+                .filter(type -> !type.isInterface() && type.isAnnotationPresent(TABLE_ANNOTATION))
+                .map(type -> EntitySource.of(file, packageName, type.getNameAsString()));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.demo.codegen.core;
+
+import lombok.Value;
+
+import java.nio.file.Path;
+
+/**
+ * 实体源码描述
+ * 指向实体的源码文件及其包名、类名；通过源码扫描发现的实体不会加载 Class，entityClass 为 null；
+ * 由数据库表结构生成的实体直接携带源码文本 content，解析时不读取源码文件
+ */
+@Value
+public class EntitySource {
+    
+    /**
+     * 源码文件
+     */
+    Path sourceFile;
+    
+    /**
+     * 包名
+     */
+    String packageName;
+    
+    /**
+     * 类名
+     */
+    String className;
+    
+    /**
+     * 已加载的实体类，可能为 null
+     */
+    Class<?> entityClass;
+    
+    /**
+     * 内存中的源码文本，可能为 null
+     */
+    String content;
+    
+    /**
+     * 由已加载的实体类创建
+     */
+    public static EntitySource of(Class<?> entityClass, Path sourceFile) {
+        return new EntitySource(sourceFile, entityClass.getPackageName(), entityClass.getSimpleName(), entityClass, null);
+    }
+    
+    /**
+     * 由源码信息创建，不依赖已编译的实体类
+     */
+    public static EntitySource of(Path sourceFile, String packageName, String className) {
+        return new EntitySource(sourceFile, packageName, className, null, null);
+    }
+    
+    /**
+     * 由内存中的源码文本创建，sourceFile 为源码的写出位置
+     */
+    public static EntitySource of(String content, Path sourceFile, String packageName, String className) {
+        return new EntitySource(sourceFile, packageName, className, null, content);
+    }
+    
+    /**
+     * 获取全限定类名
+     */
+    public String getQualifiedName() {
+        return packageName.isEmpty() ? className : packageName + "." + className;
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.demo.codegen.core;
+
+import com.example.demo.codegen.config.CodeGenConfig;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.mybatisflex.annotation.Id;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.TypeName;
+import lombok.Value;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 实体符号表
+ * 解析实体时根据源码 import 一次性计算各层类型名，所有模板共享，保证生成代码中的包名和类型一致
+ */
+@Value
+public class EntitySymbols {
+
+    private static final ClassName PAGE_TYPE = ClassName.get("com.mybatisflex.core.paginate", "Page");
+
+    ClassName entityType;
+
+    ClassName dtoType;
+
+    ClassName queryType;
+
+    ClassName mapperType;
+
+    ClassName serviceType;
+
+    ClassName serviceImplType;
+
+    ClassName cachingServiceType;
+
+    ClassName controllerType;
+
+    ClassName convertorType;
+
+    ClassName repositoryType;
+
+    ClassName bulkTransferType;
+
+    ClassName purgeJobType;
+
+    ClassName pageType;
+
+    /**
+     * ID字段类型
+     */
+    TypeName idType;
+
+    /**
+     * ID字段名
+     */
+    String idFieldName;
+
+    /**
+     * ID字段对应的列名
+     */
+    String idColumnName;
+
+    /**
+     * 字段名到字段类型的映射，保持源码中的声明顺序
+     */
+    Map<String, TypeName> fieldTypes;
+
+    /**
+     * 字段名到列名的映射（@Column 值或下划线命名），保持源码中的声明顺序
+     */
+    Map<String, String> columnNames;
+
+    /**
+     * 可生成查找方法的字段（索引首列，不含ID字段）到是否唯一的映射；单列唯一索引的字段按唯一键查找
+     */
+    Map<String, Boolean> finderFields;
+
+    /**
+     * 逻辑删除标记字段名，没有时为 null
+     */
+    String logicDeleteField;
+
+    /**
+     * 获取字段类型
+     */
+    public TypeName fieldType(String fieldName) {
+        TypeName type = fieldTypes.get(fieldName);
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown field " + fieldName + " in " + entityType);
+        }
+        return type;
+    }
+
+    /**
+     * 获取字段对应的列名
+     */
+    public String columnName(String fieldName) {
+        String column = columnNames.get(fieldName);
+        if (column == null) {
+            throw new IllegalArgumentException("Unknown field " + fieldName + " in " + entityType);
+        }
+        return column;
+    }
+
+    public boolean hasLogicDelete() {
+        return logicDeleteField != null;
+    }
+
+    /**
+     * 逻辑删除标记的字面量：布尔字段为 true / false，整数字段为 1 / 0
+     */
+    public String logicDeleteValue(boolean deleted) {
+        if (ClassName.get(Boolean.class).equals(fieldType(logicDeleteField).box())) {
+            return String.valueOf(deleted);
+        }
+        return deleted ? "1" : "0";
+    }
+
+    /**
+     * 解析实体的符号表，各层包名取自实体基础包名和配置中的包后缀
+     */
+    public static EntitySymbols resolve(EntityMetadata metadata, CodeGenConfig config) {
+        String entityName = metadata.getClassName();
+        String packageName = metadata.getPackageName();
+        List<String> imports = metadata.getImports() == null ? List.of() : metadata.getImports();
+
+        Map<String, TypeName> fieldTypes = new LinkedHashMap<>();
+        Map<String, String> columnNames = new LinkedHashMap<>();
+        String idFieldName = null;
+        String annotatedLogicDeleteField = null;
+        for (FieldDeclaration field : metadata.getFields()) {
+            // 静态字段不映射到列
+            if (field.isStatic()) {
+                continue;
+            }
+            boolean id = field.isAnnotationPresent(Id.class);
+            for (VariableDeclarator variable : field.getVariables()) {
+                String fieldName = variable.getNameAsString();
+                fieldTypes.put(fieldName, TemplateUtils.resolveType(variable.getType(), imports, packageName));
+                columnNames.put(fieldName, TemplateUtils.getColumnName(field, TemplateUtils.toFieldName(fieldName)));
+                if (id && idFieldName == null) {
+                    idFieldName = fieldName;
+                }
+                if (annotatedLogicDeleteField == null && TemplateUtils.isLogicDeleteAnnotated(field)) {
+                    annotatedLogicDeleteField = fieldName;
+                }
+            }
+        }
+        if (idFieldName == null) {
+            throw new IllegalArgumentException("No @Id field found in " + entityName);
+        }
+
+        String logicDeleteField = resolveLogicDeleteField(fieldTypes, columnNames, annotatedLogicDeleteField,
+                config.getLogicDeleteField());
+        if (logicDeleteField != null && !TemplateUtils.isLogicDeleteType(fieldTypes.get(logicDeleteField))) {
+            throw new IllegalArgumentException("Logic delete field " + logicDeleteField + " in " + entityName
+                    + " must be a boolean or integer");
+        }
+
+        // 只有索引首列能走索引，复合唯一索引的首列本身不唯一
+        Map<String, Boolean> finderFields = new LinkedHashMap<>();
+        List<IndexDefinition> indexes = metadata.getIndexes() == null ? List.of() : metadata.getIndexes();
+        for (IndexDefinition index : indexes) {
+            String fieldName = fieldOfColumn(columnNames, index.getLeadingColumn());
+            if (fieldName == null) {
+                throw new IllegalArgumentException("Unknown index column " + index.getLeadingColumn() + " in " + entityName);
+            }
+            if (!fieldName.equals(idFieldName) && !fieldName.equals(logicDeleteField)) {
+                boolean unique = index.isUnique() && index.getColumns().size() == 1;
+                finderFields.merge(fieldName, unique, Boolean::logicalOr);
+            }
+        }
+
+        return new EntitySymbols(
+                ClassName.get(packageName, entityName),
+                ClassName.get(layerPackage(metadata, config, "dto"), entityName + "Dto"),
+                ClassName.get(layerPackage(metadata, config, "query"), entityName + "Query"),
+                ClassName.get(layerPackage(metadata, config, "mapper"), entityName + "FlexMapper"),
+                ClassName.get(layerPackage(metadata, config, "service"), entityName + "Service"),
+                ClassName.get(layerPackage(metadata, config, "serviceImpl"), entityName + "ServiceImpl"),
+                ClassName.get(layerPackage(metadata, config, "serviceImpl"), entityName + "CachingService"),
+                ClassName.get(layerPackage(metadata, config, "controller"), entityName + "Controller"),
+                ClassName.get(layerPackage(metadata, config, "convertor"),
+                        entityName + (config.isPlainConvertor() ? "Convertor" : "MapStructMapper")),
+                ClassName.get(layerPackage(metadata, config, "repository"), entityName + "Repository"),
+                ClassName.get(layerPackage(metadata, config, "bulk"), entityName + "BulkTransfer"),
+                ClassName.get(layerPackage(metadata, config, "job"), entityName + "PurgeJob"),
+                PAGE_TYPE,
+                fieldTypes.get(idFieldName),
+                idFieldName,
+                columnNames.get(idFieldName),
+                Collections.unmodifiableMap(fieldTypes),
+                Collections.unmodifiableMap(columnNames),
+                Collections.unmodifiableMap(finderFields),
+                logicDeleteField);
+    }
+
+    /**
+     * 逻辑删除字段：实体中存在的配置字段优先，其次是 @Column(isLogicDelete = true)，最后按命名约定识别
+     */
+    private static String resolveLogicDeleteField(Map<String, TypeName> fieldTypes, Map<String, String> columnNames,
+                                                  String annotatedField, String configuredField) {
+        if (configuredField != null && fieldTypes.containsKey(configuredField)) {
+            return configuredField;
+        }
+        if (annotatedField != null) {
+            return annotatedField;
+        }
+        for (Map.Entry<String, String> column : columnNames.entrySet()) {
+            if (TemplateUtils.isLogicDeleteName(column.getKey(), column.getValue())
+                    && TemplateUtils.isLogicDeleteType(fieldTypes.get(column.getKey()))) {
+                return column.getKey();
+            }
+        }
+        return null;
+    }
+
+    private static String fieldOfColumn(Map<String, String> columnNames, String column) {
+        for (Map.Entry<String, String> entry : columnNames.entrySet()) {
+            if (entry.getValue().equalsIgnoreCase(column)) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    private static String layerPackage(EntityMetadata metadata, CodeGenConfig config, String layer) {
+        return metadata.getBasePackage() + config.getPackageSuffixes().getOrDefault(layer, "");
+    }
+}
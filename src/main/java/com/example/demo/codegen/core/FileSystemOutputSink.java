@@ -0,0 +1,116 @@
+package com.example.demo.codegen.core;
+
+import com.squareup.javapoet.JavaFile;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 写入目录树的输出目标
+ * 先渲染到线程复用的缓冲区，与已有文件逐字节比较：内容相同则跳过（保留 mtime，避免触发增量编译），
+ * 不同则写入同目录临时文件后原子替换
+ */
+@Slf4j
+public class FileSystemOutputSink implements OutputSink {
+    
+    private static final int MAX_RETAINED_BUFFER = 256 * 1024;
+    
+    private static final ThreadLocal<StringBuilder> BUFFERS = ThreadLocal.withInitial(() -> new StringBuilder(8192));
+    
+    private final Path outputDir;
+    
+    private final LongAdder written = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    
+    public FileSystemOutputSink(Path outputDir) {
+        this.outputDir = outputDir;
+    }
+    
+    @Override
+    public WriteResult write(JavaFile javaFile) throws IOException {
+        String relativePath = OutputSink.relativePath(javaFile);
+        byte[] content = render(javaFile);
+        Path target = outputDir.resolve(relativePath);
+        
+        if (isUnchanged(target, content)) {
+            skipped.increment();
+            log.trace("Unchanged {}", target);
+            return new WriteResult(relativePath, content.length, false);
+        }
+        
+        Files.createDirectories(target.getParent());
+        Path tempFile = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tempFile, content);
+            try {
+                Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        written.increment();
+        return new WriteResult(relativePath, content.length, true);
+    }
+    
+    @Override
+    public long getWrittenCount() {
+        return written.sum();
+    }
+    
+    @Override
+    public long getSkippedCount() {
+        return skipped.sum();
+    }
+    
+    @Override
+    public boolean supportsIncremental() {
+        return true;
+    }
+    
+    @Override
+    public boolean exists(String relativePath) {
+        return Files.exists(outputDir.resolve(relativePath));
+    }
+    
+    /**
+     * 获取输出目录
+     */
+    public Path getOutputDir() {
+        return outputDir;
+    }
+    
+    /**
+     * 渲染为 UTF-8 字节，与 JavaFile.writeTo(Path) 的输出一致
+     */
+    static byte[] render(JavaFile javaFile) throws IOException {
+        StringBuilder buffer = BUFFERS.get();
+        buffer.setLength(0);
+        try {
+            javaFile.writeTo(buffer);
+            return buffer.toString().getBytes(StandardCharsets.UTF_8);
+        } finally {
+            if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+                BUFFERS.remove();
+            }
+        }
+    }
+    
+    /**
+     * 已有文件与新内容是否一致，先比较大小避免无谓的读取
+     */
+    private static boolean isUnchanged(Path target, byte[] content) throws IOException {
+        if (!Files.isRegularFile(target) || Files.size(target) != content.length) {
+            return false;
+        }
+        return Arrays.equals(Files.readAllBytes(target), content);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demo.codegen.core;
+
+import java.nio.file.Path;
+
+/**
+ * 代码生成过程监听器
+ * 每次生成（generate / generateAll / generateDiscovered）触发一次 onRunStarted 与 onRunCompleted，
+ * 期间每个实体解析后触发 onEntityParsed，每次 CodeTemplate.generate 调用结束后触发 onTemplateCompleted，
+ * 实体整体失败（如源码不存在或无法解析）时触发 onEntityFailed。
+ * 批量生成时回调会在多个线程上并发触发，实现类需要保证线程安全。
+ */
+public interface GenerationListener {
+    
+    /**
+     * 生成开始
+     */
+    default void onRunStarted(int entityCount) {
+    }
+    
+    /**
+     * 实体源码解析完成
+     */
+    default void onEntityParsed(String entityName, long parseNanos) {
+    }
+    
+    /**
+     * 单个模板执行完成（包括失败）
+     */
+    default void onTemplateCompleted(TemplateExecution execution) {
+    }
+    
+    /**
+     * 实体生成失败，该实体的模板不会执行
+     */
+    default void onEntityFailed(String entityName, Path sourceFile, String error) {
+    }
+    
+    /**
+     * 生成结束
+     */
+    default void onRunCompleted(int entityCount, int failedEntityCount, long durationNanos) {
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.demo.codegen.core;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * 增量生成清单
+ * 记录每个"实体/模板"组合上次生成时的输入哈希（实体源码、有效配置、模板版本、生成器字节码）和写出的文件，
+ * 输入未变化且文件仍然存在时跳过生成
+ */
+@Slf4j
+public class GenerationManifest {
+
+    /**
+     * 生成器自身的类：codegen 包（模板、共享工具类及其内部类）和 CodeGenerator
+     */
+    private static final List<String> GENERATOR_CLASS_PREFIXES = List.of("com/example/demo/codegen/", "com/example/demo/CodeGenerator");
+
+    private static final String GENERATOR_HASH = generatorHash();
+
+    private static final Map<Class<?>, String> TEMPLATE_CLASS_HASHES = new ConcurrentHashMap<>();
+
+    private final Path manifestFile;
+
+    private final Map<String, String> entries = new ConcurrentHashMap<>();
+
+    private volatile boolean dirty;
+
+    public GenerationManifest(Path manifestFile) {
+        this.manifestFile = manifestFile;
+    }
+
+    /**
+     * 从磁盘加载清单，文件不存在或损坏时视为空清单
+     */
+    public void load() {
+        entries.clear();
+        if (!Files.exists(manifestFile)) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(manifestFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Ignoring unreadable manifest {}: {}", manifestFile, e.getMessage());
+            return;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            entries.put(key, properties.getProperty(key));
+        }
+        log.debug("Loaded {} manifest entries from {}", entries.size(), manifestFile);
+    }
+
+    /**
+     * 判断输入哈希是否与上次生成一致，且上次写出的文件都还在输出目标中
+     */
+    public boolean isUpToDate(String key, String inputHash, OutputSink outputSink) {
+        String entry = entries.get(key);
+        if (entry == null) {
+            return false;
+        }
+        String[] parts = entry.split(",");
+        if (!parts[0].equals(inputHash)) {
+            return false;
+        }
+        for (int i = 1; i < parts.length; i++) {
+            if (!outputSink.exists(parts[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 记录生成成功后的输入哈希和写出的文件，格式为"哈希,路径1,路径2"
+     */
+    public void record(String key, String inputHash, Collection<String> outputs) {
+        String entry = outputs.isEmpty() ? inputHash : inputHash + "," + String.join(",", outputs);
+        if (!entry.equals(entries.put(key, entry))) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * 有变化时写回磁盘，先写临时文件再原子替换
+     */
+    public synchronized void save() throws IOException {
+        if (!dirty) {
+            return;
+        }
+        Path parent = manifestFile.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tempFile = Files.createTempFile(parent, manifestFile.getFileName().toString(), ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                writer.write("# code generator incremental manifest, do not edit\n");
+                for (Map.Entry<String, String> entry : new TreeMap<>(entries).entrySet()) {
+                    writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+                }
+            }
+            Files.move(tempFile, manifestFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        dirty = false;
+    }
+
+    /**
+     * 清单条目的键
+     */
+    public static String key(String entityName, CodeTemplate template) {
+        return entityName + "/" + template.getTemplateName();
+    }
+
+    /**
+     * 计算"实体/模板"组合的输入哈希
+     */
+    public static String inputHash(String sourceHash, String configFingerprint, CodeTemplate template) {
+        return sha256(sourceHash, configFingerprint, template.getVersion(), GENERATOR_HASH, templateClassHash(template.getClass()));
+    }
+
+    /**
+     * 计算内容哈希
+     */
+    public static String sha256(byte[] content) {
+        return toHex(digest().digest(content));
+    }
+
+    private static String sha256(String... parts) {
+        MessageDigest digest = digest();
+        for (String part : parts) {
+            digest.update(part.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * 模板类字节码的哈希，模板实现变化时即使未升级版本号也会触发重新生成
+     */
+    private static String templateClassHash(Class<?> templateClass) {
+        return TEMPLATE_CLASS_HASHES.computeIfAbsent(templateClass, type -> {
+            String resource = type.getName().substring(type.getName().lastIndexOf('.') + 1) + ".class";
+            try (InputStream in = type.getResourceAsStream(resource)) {
+                return in == null ? "" : sha256(in.readAllBytes());
+            } catch (IOException e) {
+                return "";
+            }
+        });
+    }
+
+    /**
+     * 生成器字节码的哈希，共享工具类、内部类等模板之外的代码变化时同样使清单失效；
+     * 从类目录或 jar 读取，无法定位时（如嵌套 jar）返回空串，只依赖模板自身的哈希
+     */
+    private static String generatorHash() {
+        Map<String, byte[]> classes = new TreeMap<>();
+        try {
+            Path location = Paths.get(GenerationManifest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            if (Files.isDirectory(location)) {
+                try (Stream<Path> files = Files.walk(location)) {
+                    for (Path file : (Iterable<Path>) files::iterator) {
+                        String name = location.relativize(file).toString().replace('\\', '/');
+                        if (isGeneratorClass(name)) {
+                            classes.put(name, Files.readAllBytes(file));
+                        }
+                    }
+                }
+            } else {
+                try (JarFile jar = new JarFile(location.toFile())) {
+                    for (Enumeration<JarEntry> jarEntries = jar.entries(); jarEntries.hasMoreElements(); ) {
+                        JarEntry entry = jarEntries.nextElement();
+                        if (isGeneratorClass(entry.getName())) {
+                            try (InputStream in = jar.getInputStream(entry)) {
+                                classes.put(entry.getName(), in.readAllBytes());
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Generator classes not readable, manifest relies on template hashes: {}", e.getMessage());
+            return "";
+        }
+        MessageDigest digest = digest();
+        classes.forEach((name, content) -> {
+            digest.update(name.getBytes(StandardCharsets.UTF_8));
+            digest.update(content);
+        });
+        return toHex(digest.digest());
+    }
+
+    private static boolean isGeneratorClass(String name) {
+        return name.endsWith(".class") && GENERATOR_CLASS_PREFIXES.stream().anyMatch(name::startsWith);
+    }
+
+    private static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
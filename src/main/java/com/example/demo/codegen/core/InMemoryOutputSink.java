@@ -0,0 +1,62 @@
+package com.example.demo.codegen.core;
+
+import com.squareup.javapoet.JavaFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 写入内存的输出目标
+ * 以相对路径为键保存渲染后的 UTF-8 内容，适合测试或交给后续流水线处理；内存占用与生成的文件总量成正比
+ */
+public class InMemoryOutputSink implements OutputSink {
+    
+    private final Map<String, byte[]> files = new ConcurrentHashMap<>();
+    
+    private final LongAdder written = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    
+    @Override
+    public WriteResult write(JavaFile javaFile) throws IOException {
+        String relativePath = OutputSink.relativePath(javaFile);
+        byte[] content = FileSystemOutputSink.render(javaFile);
+        byte[] previous = files.put(relativePath, content);
+        if (previous != null && Arrays.equals(previous, content)) {
+            skipped.increment();
+            return new WriteResult(relativePath, content.length, false);
+        }
+        written.increment();
+        return new WriteResult(relativePath, content.length, true);
+    }
+    
+    @Override
+    public long getWrittenCount() {
+        return written.sum();
+    }
+    
+    @Override
+    public long getSkippedCount() {
+        return skipped.sum();
+    }
+    
+    /**
+     * 获取所有文件，按路径排序，内容为只读视图
+     */
+    public Map<String, byte[]> getFiles() {
+        return Collections.unmodifiableMap(new TreeMap<>(files));
+    }
+    
+    /**
+     * 获取指定路径的文件内容，不存在时返回 null
+     */
+    public String getContent(String relativePath) {
+        byte[] content = files.get(relativePath);
+        return content == null ? null : new String(content, StandardCharsets.UTF_8);
+    }
+}
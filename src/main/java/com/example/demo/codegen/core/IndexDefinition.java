@@ -0,0 +1,34 @@
+package com.example.demo.codegen.core;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * 索引定义，来自实体上的 @Index 声明
+ */
+@Value
+public class IndexDefinition {
+    
+    /**
+     * 索引名，可能为空
+     */
+    String name;
+    
+    /**
+     * 按索引顺序排列的列名
+     */
+    List<String> columns;
+    
+    /**
+     * 是否唯一索引
+     */
+    boolean unique;
+    
+    /**
+     * 索引首列
+     */
+    public String getLeadingColumn() {
+        return columns.get(0);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.demo.codegen.core;
+
+import com.squareup.javapoet.JavaFile;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * 生成代码的输出目标
+ * 所有模板通过 OutputSink 写出 JavaFile，由实现决定写入位置（目录树、内存、归档文件）和写入策略
+ */
+public interface OutputSink extends Closeable {
+    
+    /**
+     * 写出生成的 Java 文件
+     */
+    WriteResult write(JavaFile javaFile) throws IOException;
+    
+    /**
+     * 实际写出的文件数
+     */
+    long getWrittenCount();
+    
+    /**
+     * 内容未变化而跳过的文件数
+     */
+    long getSkippedCount();
+    
+    /**
+     * 输出是否在多次生成之间保留；只有保留输出的目标才能使用增量清单跳过生成
+     */
+    default boolean supportsIncremental() {
+        return false;
+    }
+    
+    /**
+     * 输出目标中是否存在该相对路径的文件；增量清单据此发现被删除的生成文件
+     */
+    default boolean exists(String relativePath) {
+        return false;
+    }
+    
+    /**
+     * 完成输出并释放资源
+     */
+    @Override
+    default void close() throws IOException {
+    }
+    
+    /**
+     * Java 文件在输出目标中的相对路径
+     */
+    static String relativePath(JavaFile javaFile) {
+        String fileName = javaFile.typeSpec.name + ".java";
+        return javaFile.packageName.isEmpty() ? fileName : javaFile.packageName.replace('.', '/') + "/" + fileName;
+    }
+}
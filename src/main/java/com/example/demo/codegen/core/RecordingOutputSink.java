@@ -0,0 +1,83 @@
+package com.example.demo.codegen.core;
+
+import com.squareup.javapoet.JavaFile;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 记录单次模板执行写出情况的输出目标包装，写出委托给实际的输出目标
+ * 每次模板调用使用独立实例，不需要线程安全
+ */
+public class RecordingOutputSink implements OutputSink {
+    
+    private final OutputSink delegate;
+    
+    private final List<String> paths = new ArrayList<>();
+    
+    private long renderedBytes;
+    private long writeNanos;
+    private int written;
+    private int skipped;
+    
+    public RecordingOutputSink(OutputSink delegate) {
+        this.delegate = delegate;
+    }
+    
+    @Override
+    public WriteResult write(JavaFile javaFile) throws IOException {
+        long start = System.nanoTime();
+        WriteResult result = delegate.write(javaFile);
+        writeNanos += System.nanoTime() - start;
+        renderedBytes += result.getBytes();
+        paths.add(result.getPath());
+        if (result.isWritten()) {
+            written++;
+        } else {
+            skipped++;
+        }
+        return result;
+    }
+    
+    @Override
+    public long getWrittenCount() {
+        return written;
+    }
+    
+    @Override
+    public long getSkippedCount() {
+        return skipped;
+    }
+    
+    @Override
+    public boolean supportsIncremental() {
+        return delegate.supportsIncremental();
+    }
+    
+    @Override
+    public boolean exists(String relativePath) {
+        return delegate.exists(relativePath);
+    }
+    
+    /**
+     * 写出（含内容未变化而跳过）的文件相对路径
+     */
+    public List<String> getPaths() {
+        return paths;
+    }
+    
+    /**
+     * 渲染后的总字节数
+     */
+    public long getRenderedBytes() {
+        return renderedBytes;
+    }
+    
+    /**
+     * 写出耗时
+     */
+    public long getWriteNanos() {
+        return writeNanos;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.demo.codegen.core;
+
+import lombok.Value;
+
+/**
+ * 单次模板执行的度量数据
+ */
+@Value
+public class TemplateExecution {
+    
+    /**
+     * 实体全限定名
+     */
+    String entityName;
+    
+    /**
+     * 模板名称
+     */
+    String templateName;
+    
+    /**
+     * 模板执行耗时（渲染与写出）
+     */
+    long durationNanos;
+    
+    /**
+     * 其中写出（比较与落盘）的耗时
+     */
+    long writeNanos;
+    
+    /**
+     * 渲染后的字节数
+     */
+    long renderedBytes;
+    
+    /**
+     * 实际写出的文件数
+     */
+    int filesWritten;
+    
+    /**
+     * 内容未变化而跳过的文件数
+     */
+    int filesSkipped;
+    
+    /**
+     * 失败原因，成功时为 null
+     */
+    String error;
+    
+    /**
+     * 是否成功
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -1,14 +1,75 @@
 package com.example.demo.codegen.core;
 
 
+import com.example.demo.codegen.annotation.Index;
+import com.example.demo.codegen.annotation.Indexes;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.AnnotationExpr;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.MemberValuePair;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.ast.type.WildcardType;
+import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.WildcardTypeName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 public class TemplateUtils {
 
+    private static final Map<String, String> WELL_KNOWN_TYPES = Map.ofEntries(
+            Map.entry("String", "java.lang.String"),
+            Map.entry("Long", "java.lang.Long"),
+            Map.entry("Integer", "java.lang.Integer"),
+            Map.entry("Short", "java.lang.Short"),
+            Map.entry("Byte", "java.lang.Byte"),
+            Map.entry("Boolean", "java.lang.Boolean"),
+            Map.entry("Double", "java.lang.Double"),
+            Map.entry("Float", "java.lang.Float"),
+            Map.entry("Character", "java.lang.Character"),
+            Map.entry("Object", "java.lang.Object"),
+            Map.entry("Number", "java.lang.Number"),
+            Map.entry("BigDecimal", "java.math.BigDecimal"),
+            Map.entry("BigInteger", "java.math.BigInteger"),
+            Map.entry("LocalDate", "java.time.LocalDate"),
+            Map.entry("LocalTime", "java.time.LocalTime"),
+            Map.entry("LocalDateTime", "java.time.LocalDateTime"),
+            Map.entry("OffsetDateTime", "java.time.OffsetDateTime"),
+            Map.entry("Instant", "java.time.Instant"),
+            Map.entry("Date", "java.util.Date"),
+            Map.entry("UUID", "java.util.UUID"),
+            Map.entry("List", "java.util.List"),
+            Map.entry("Set", "java.util.Set"),
+            Map.entry("Map", "java.util.Map"));
+
+    /**
+     * 可比较大小的类型，Query 中生成 Min/Max 范围条件
+     */
+    private static final List<String> RANGE_TYPES = List.of(
+            "java.lang.Byte", "java.lang.Short", "java.lang.Integer", "java.lang.Long",
+            "java.lang.Float", "java.lang.Double", "java.math.BigDecimal", "java.math.BigInteger",
+            "java.time.LocalDate", "java.time.LocalTime", "java.time.LocalDateTime",
+            "java.time.OffsetDateTime", "java.time.Instant", "java.util.Date");
+
+    /**
+     * 按约定识别为逻辑删除标记的字段名和列名
+     */
+    private static final List<String> LOGIC_DELETE_NAMES = List.of(
+            "deleted", "isDeleted", "is_deleted", "delFlag", "del_flag", "deleteFlag", "delete_flag");
+
+    /**
+     * 可作为逻辑删除标记的类型：布尔值或 0/1 整数
+     */
+    private static final List<String> LOGIC_DELETE_TYPES = List.of(
+            "java.lang.Boolean", "java.lang.Byte", "java.lang.Short", "java.lang.Integer", "java.lang.Long");
+
     public static String getIdFieldType(ClassOrInterfaceDeclaration entityClass) {
         for (FieldDeclaration field : entityClass.getFields()) {
             if (field.isAnnotationPresent(com.mybatisflex.annotation.Id.class)) {
@@ -20,14 +81,155 @@ public class TemplateUtils {
     }
 
     public static TypeName resolveTypeName(String type) {
+        return resolveTypeName(type, List.of(), "");
+    }
+
+    public static TypeName resolveTypeName(String type, List<String> imports, String packageName) {
         return switch (type) {
-            case "Long" -> ClassName.get(Long.class);
-            case "String" -> ClassName.get(String.class);
-            case "Integer" -> ClassName.get(Integer.class);
-            default -> ClassName.bestGuess(type);
+            case "boolean" -> TypeName.BOOLEAN;
+            case "byte" -> TypeName.BYTE;
+            case "short" -> TypeName.SHORT;
+            case "int" -> TypeName.INT;
+            case "long" -> TypeName.LONG;
+            case "char" -> TypeName.CHAR;
+            case "float" -> TypeName.FLOAT;
+            case "double" -> TypeName.DOUBLE;
+            default -> resolveClassName(type, imports, packageName);
         };
     }
 
+    public static TypeName resolveType(Type type, List<String> imports, String packageName) {
+        if (type.isPrimitiveType()) {
+            return resolveTypeName(type.asString(), imports, packageName);
+        }
+        if (type.isArrayType()) {
+            return ArrayTypeName.of(resolveType(type.asArrayType().getComponentType(), imports, packageName));
+        }
+        if (type.isWildcardType()) {
+            WildcardType wildcard = type.asWildcardType();
+            if (wildcard.getExtendedType().isPresent()) {
+                return WildcardTypeName.subtypeOf(resolveType(wildcard.getExtendedType().get(), imports, packageName));
+            }
+            if (wildcard.getSuperType().isPresent()) {
+                return WildcardTypeName.supertypeOf(resolveType(wildcard.getSuperType().get(), imports, packageName));
+            }
+            return WildcardTypeName.subtypeOf(Object.class);
+        }
+        if (type.isClassOrInterfaceType()) {
+            ClassOrInterfaceType classType = type.asClassOrInterfaceType();
+            ClassName rawType = resolveClassName(classType.getNameWithScope(), imports, packageName);
+            if (classType.getTypeArguments().isEmpty() || classType.getTypeArguments().get().isEmpty()) {
+                return rawType;
+            }
+            List<TypeName> typeArguments = new ArrayList<>();
+            for (Type typeArgument : classType.getTypeArguments().get()) {
+                typeArguments.add(resolveType(typeArgument, imports, packageName));
+            }
+            return ParameterizedTypeName.get(rawType, typeArguments.toArray(new TypeName[0]));
+        }
+        return resolveTypeName(type.asString(), imports, packageName);
+    }
+
+    public static ClassName resolveClassName(String name, List<String> imports, String packageName) {
+        int dot = name.indexOf('.');
+        String simpleName = dot < 0 ? name : name.substring(0, dot);
+        // 全限定名
+        if (dot > 0 && Character.isLowerCase(name.charAt(0))) {
+            return ClassName.bestGuess(name);
+        }
+        ClassName outer = null;
+        for (String imported : imports) {
+            if (imported.equals(simpleName) || imported.endsWith("." + simpleName)) {
+                outer = ClassName.bestGuess(imported);
+                break;
+            }
+        }
+        if (outer == null && WELL_KNOWN_TYPES.containsKey(simpleName)) {
+            outer = ClassName.bestGuess(WELL_KNOWN_TYPES.get(simpleName));
+        }
+        if (outer == null) {
+            outer = ClassName.get(packageName, simpleName);
+        }
+        // 嵌套类，如 Map.Entry
+        if (dot > 0) {
+            for (String nested : name.substring(dot + 1).split("\\.")) {
+                outer = outer.nestedClass(nested);
+            }
+        }
+        return outer;
+    }
+
+    public static String getTableName(ClassOrInterfaceDeclaration entityClass) {
+        String defaultName = toFieldName(entityClass.getNameAsString());
+        return entityClass.getAnnotationByClass(com.mybatisflex.annotation.Table.class)
+                .map(annotation -> {
+                    if (annotation.isSingleMemberAnnotationExpr()) {
+                        return annotation.asSingleMemberAnnotationExpr().getMemberValue().asStringLiteralExpr().asString();
+                    } else if (annotation.isNormalAnnotationExpr()) {
+                        return annotation.asNormalAnnotationExpr().getPairs().stream()
+                                .filter(p -> p.getNameAsString().equals("value"))
+                                .findFirst()
+                                .map(p -> p.getValue().asStringLiteralExpr().asString())
+                                .orElse(defaultName);
+                    }
+                    return defaultName;
+                })
+                .orElse(defaultName);
+    }
+
+    /**
+     * 读取实体上的 @Index 声明，包括 @Indexes 容器中的声明
+     */
+    public static List<IndexDefinition> getIndexes(ClassOrInterfaceDeclaration entityClass) {
+        List<IndexDefinition> indexes = new ArrayList<>();
+        for (AnnotationExpr annotation : entityClass.getAnnotations()) {
+            String name = annotation.getNameAsString();
+            if (name.equals(Index.class.getSimpleName()) || name.equals(Index.class.getName())) {
+                indexes.add(toIndexDefinition(annotation));
+            } else if (name.equals(Indexes.class.getSimpleName()) || name.equals(Indexes.class.getName())) {
+                Expression value = annotation.isSingleMemberAnnotationExpr()
+                        ? annotation.asSingleMemberAnnotationExpr().getMemberValue()
+                        : annotation.asNormalAnnotationExpr().getPairs().stream()
+                                .filter(p -> p.getNameAsString().equals("value"))
+                                .findFirst()
+                                .map(MemberValuePair::getValue)
+                                .orElseThrow(() -> new IllegalArgumentException("@Indexes without value on " + entityClass.getNameAsString()));
+                List<Expression> elements = value.isArrayInitializerExpr() ? value.asArrayInitializerExpr().getValues() : List.of(value);
+                for (Expression element : elements) {
+                    indexes.add(toIndexDefinition(element.asAnnotationExpr()));
+                }
+            }
+        }
+        return indexes;
+    }
+
+    private static IndexDefinition toIndexDefinition(AnnotationExpr annotation) {
+        String name = "";
+        List<String> columns = new ArrayList<>();
+        boolean unique = false;
+        if (annotation.isNormalAnnotationExpr()) {
+            for (MemberValuePair pair : annotation.asNormalAnnotationExpr().getPairs()) {
+                Expression value = pair.getValue();
+                switch (pair.getNameAsString()) {
+                    case "name" -> name = value.asStringLiteralExpr().asString();
+                    case "unique" -> unique = value.asBooleanLiteralExpr().getValue();
+                    case "columns" -> {
+                        List<Expression> elements = value.isArrayInitializerExpr() ? value.asArrayInitializerExpr().getValues() : List.of(value);
+                        for (Expression element : elements) {
+                            columns.add(element.asStringLiteralExpr().asString());
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+        }
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("@Index without columns: " + annotation);
+        }
+        return new IndexDefinition(name, List.copyOf(columns), unique);
+    }
+
     public static String getColumnName(FieldDeclaration field, String defaultName) {
         return field.getAnnotationByClass(com.mybatisflex.annotation.Column.class)
                 .map(annotation -> {
@@ -62,6 +264,76 @@ public class TemplateUtils {
         return fieldName.toString();
     }
 
+    /**
+     * 下划线命名转换为驼峰命名，如 user_name 转换为 userName；全大写的名称（如 H2、Oracle 中的 USER_NAME）按小写处理
+     */
+    public static String toCamelCase(String name) {
+        if (name == null || name.isEmpty()) {
+            return name;
+        }
+        String source = name.equals(name.toUpperCase()) ? name.toLowerCase() : name;
+        StringBuilder camelCase = new StringBuilder(source.length());
+        boolean upperNext = false;
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c == '_' || c == '-' || c == ' ') {
+                upperNext = camelCase.length() > 0;
+            } else if (upperNext) {
+                camelCase.append(Character.toUpperCase(c));
+                upperNext = false;
+            } else {
+                camelCase.append(camelCase.length() == 0 ? Character.toLowerCase(c) : c);
+            }
+        }
+        return camelCase.toString();
+    }
+
+    /**
+     * 是否支持范围查询（数值和时间类型）
+     */
+    public static boolean isRangeType(TypeName type) {
+        return RANGE_TYPES.contains(type.box().toString());
+    }
+
+    /**
+     * 字段是否标注了 @Column(isLogicDelete = true)
+     */
+    public static boolean isLogicDeleteAnnotated(FieldDeclaration field) {
+        return field.getAnnotationByClass(com.mybatisflex.annotation.Column.class)
+                .filter(AnnotationExpr::isNormalAnnotationExpr)
+                .map(annotation -> annotation.asNormalAnnotationExpr().getPairs().stream()
+                        .anyMatch(p -> p.getNameAsString().equals("isLogicDelete")
+                                && p.getValue().isBooleanLiteralExpr()
+                                && p.getValue().asBooleanLiteralExpr().getValue()))
+                .orElse(false);
+    }
+
+    /**
+     * 字段名或列名是否符合逻辑删除标记的命名约定
+     */
+    public static boolean isLogicDeleteName(String fieldName, String columnName) {
+        return LOGIC_DELETE_NAMES.contains(fieldName) || LOGIC_DELETE_NAMES.contains(columnName.toLowerCase());
+    }
+
+    /**
+     * 是否可作为逻辑删除标记（布尔值或整数）
+     */
+    public static boolean isLogicDeleteType(TypeName type) {
+        return LOGIC_DELETE_TYPES.contains(type.box().toString());
+    }
+
+    public static boolean isStringType(TypeName type) {
+        return ClassName.get(String.class).equals(type);
+    }
+
+    public static String getterName(String fieldName, TypeName fieldType) {
+        return (TypeName.BOOLEAN.equals(fieldType) ? "is" : "get") + capitalize(fieldName);
+    }
+
+    public static String setterName(String fieldName) {
+        return "set" + capitalize(fieldName);
+    }
+
     public static String capitalize(String str) {
         if (str == null || str.isEmpty()) {
             return str;
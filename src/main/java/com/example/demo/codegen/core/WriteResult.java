@@ -0,0 +1,25 @@
+package com.example.demo.codegen.core;
+
+import lombok.Value;
+
+/**
+ * 单个文件的写出结果
+ */
+@Value
+public class WriteResult {
+    
+    /**
+     * 相对输出目标的路径
+     */
+    String path;
+    
+    /**
+     * 渲染后的字节数
+     */
+    int bytes;
+    
+    /**
+     * 是否实际写出（false 表示内容未变化而跳过）
+     */
+    boolean written;
+}
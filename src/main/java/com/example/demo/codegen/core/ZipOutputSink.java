@@ -0,0 +1,81 @@
+package com.example.demo.codegen.core;
+
+import com.squareup.javapoet.JavaFile;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 写入 zip / 源码 jar 的输出目标
+ * 每个文件渲染后直接作为条目写入 ZipOutputStream，不在磁盘上落地小文件；内存中只保留当前正在写入的文件。
+ * 条目时间固定，相同输入生成的归档内容一致。使用完毕后必须调用 close() 完成归档。
+ */
+public class ZipOutputSink implements OutputSink {
+    
+    private static final LocalDateTime ENTRY_TIME = LocalDateTime.of(1980, 2, 1, 0, 0);
+    
+    private final ZipOutputStream zip;
+    
+    private final Set<String> entries = new HashSet<>();
+    
+    private final LongAdder written = new LongAdder();
+    
+    public ZipOutputSink(OutputStream outputStream) {
+        this.zip = new ZipOutputStream(new BufferedOutputStream(outputStream, 64 * 1024));
+    }
+    
+    /**
+     * 创建写入指定归档文件的输出目标
+     */
+    public static ZipOutputSink toFile(Path archive) throws IOException {
+        Path parent = archive.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        return new ZipOutputSink(Files.newOutputStream(archive));
+    }
+    
+    @Override
+    public WriteResult write(JavaFile javaFile) throws IOException {
+        String relativePath = OutputSink.relativePath(javaFile);
+        byte[] content = FileSystemOutputSink.render(javaFile);
+        
+        // ZipOutputStream 不支持并发写入，渲染在锁外完成
+        synchronized (zip) {
+            if (!entries.add(relativePath)) {
+                throw new IOException("Duplicate archive entry: " + relativePath);
+            }
+            ZipEntry entry = new ZipEntry(relativePath);
+            entry.setTimeLocal(ENTRY_TIME);
+            zip.putNextEntry(entry);
+            zip.write(content);
+            zip.closeEntry();
+        }
+        written.increment();
+        return new WriteResult(relativePath, content.length, true);
+    }
+    
+    @Override
+    public long getWrittenCount() {
+        return written.sum();
+    }
+    
+    @Override
+    public long getSkippedCount() {
+        return 0;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        synchronized (zip) {
+            zip.close();
+        }
+    }
+}
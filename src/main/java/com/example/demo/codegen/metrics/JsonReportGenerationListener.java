@@ -0,0 +1,153 @@
+package com.example.demo.codegen.metrics;
+
+import com.example.demo.codegen.core.GenerationListener;
+import com.example.demo.codegen.core.TemplateExecution;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 生成结束后输出 JSON 运行报告
+ * 报告包含按模板汇总的耗时与写出统计、最慢的实体、失败明细（实体失败与模板失败）以及每次模板执行的原始数据
+ */
+@Slf4j
+public class JsonReportGenerationListener implements GenerationListener {
+    
+    private static final int SLOWEST_ENTITY_LIMIT = 20;
+    
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    
+    private final Path reportFile;
+    
+    private final ConcurrentLinkedQueue<TemplateExecution> executions = new ConcurrentLinkedQueue<>();
+    
+    private final Map<String, Long> parseNanos = new ConcurrentHashMap<>();
+    
+    private final ConcurrentLinkedQueue<Map<String, Object>> entityFailures = new ConcurrentLinkedQueue<>();
+    
+    private volatile Instant startedAt;
+    
+    public JsonReportGenerationListener(Path reportFile) {
+        this.reportFile = reportFile;
+    }
+    
+    @Override
+    public void onRunStarted(int entityCount) {
+        executions.clear();
+        parseNanos.clear();
+        entityFailures.clear();
+        startedAt = Instant.now();
+    }
+    
+    @Override
+    public void onEntityParsed(String entityName, long nanos) {
+        parseNanos.put(entityName, nanos);
+    }
+    
+    @Override
+    public void onTemplateCompleted(TemplateExecution execution) {
+        executions.add(execution);
+    }
+    
+    @Override
+    public void onEntityFailed(String entityName, Path sourceFile, String error) {
+        Map<String, Object> failure = new LinkedHashMap<>();
+        failure.put("entityName", entityName);
+        failure.put("sourceFile", String.valueOf(sourceFile));
+        failure.put("error", error);
+        entityFailures.add(failure);
+    }
+    
+    @Override
+    public void onRunCompleted(int entityCount, int failedEntityCount, long durationNanos) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", String.valueOf(startedAt));
+        report.put("durationMillis", TimeUnit.NANOSECONDS.toMillis(durationNanos));
+        report.put("entities", entityCount);
+        report.put("failedEntities", failedEntityCount);
+        report.put("templates", summarizeTemplates());
+        report.put("slowestEntities", slowestEntities());
+        report.put("failures", Stream.concat(entityFailures.stream(),
+                executions.stream().filter(execution -> !execution.isSuccess())).toList());
+        report.put("executions", new ArrayList<>(executions));
+        
+        try {
+            Files.createDirectories(reportFile.toAbsolutePath().getParent());
+            OBJECT_MAPPER.writeValue(reportFile.toFile(), report);
+            log.info("Generation report written to {}", reportFile);
+        } catch (IOException e) {
+            log.warn("Failed to write generation report {}: {}", reportFile, e.getMessage());
+        }
+    }
+    
+    /**
+     * 按模板汇总
+     */
+    private Map<String, Map<String, Object>> summarizeTemplates() {
+        Map<String, Map<String, Object>> summary = new TreeMap<>();
+        for (TemplateExecution execution : executions) {
+            Map<String, Object> item = summary.computeIfAbsent(execution.getTemplateName(), name -> {
+                Map<String, Object> initial = new LinkedHashMap<>();
+                initial.put("executions", 0L);
+                initial.put("failures", 0L);
+                initial.put("totalMillis", 0.0);
+                initial.put("maxMillis", 0.0);
+                initial.put("writeMillis", 0.0);
+                initial.put("renderedBytes", 0L);
+                initial.put("filesWritten", 0L);
+                initial.put("filesSkipped", 0L);
+                return initial;
+            });
+            double millis = toMillis(execution.getDurationNanos());
+            item.merge("executions", 1L, (a, b) -> (Long) a + (Long) b);
+            item.merge("failures", execution.isSuccess() ? 0L : 1L, (a, b) -> (Long) a + (Long) b);
+            item.merge("totalMillis", millis, (a, b) -> (Double) a + (Double) b);
+            item.merge("maxMillis", millis, (a, b) -> Math.max((Double) a, (Double) b));
+            item.merge("writeMillis", toMillis(execution.getWriteNanos()), (a, b) -> (Double) a + (Double) b);
+            item.merge("renderedBytes", execution.getRenderedBytes(), (a, b) -> (Long) a + (Long) b);
+            item.merge("filesWritten", (long) execution.getFilesWritten(), (a, b) -> (Long) a + (Long) b);
+            item.merge("filesSkipped", (long) execution.getFilesSkipped(), (a, b) -> (Long) a + (Long) b);
+        }
+        return summary;
+    }
+    
+    /**
+     * 解析与全部模板耗时之和最高的实体
+     */
+    private List<Map<String, Object>> slowestEntities() {
+        Map<String, Long> totals = new LinkedHashMap<>(parseNanos);
+        for (TemplateExecution execution : executions) {
+            totals.merge(execution.getEntityName(), execution.getDurationNanos(), Long::sum);
+        }
+        return totals.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(SLOWEST_ENTITY_LIMIT)
+                .map(entry -> {
+                    Map<String, Object> item = new LinkedHashMap<>();
+                    item.put("entity", entry.getKey());
+                    item.put("parseMillis", toMillis(parseNanos.getOrDefault(entry.getKey(), 0L)));
+                    item.put("totalMillis", toMillis(entry.getValue()));
+                    return item;
+                })
+                .toList();
+    }
+    
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
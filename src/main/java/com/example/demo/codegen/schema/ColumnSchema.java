@@ -0,0 +1,50 @@
+package com.example.demo.codegen.schema;
+
+import lombok.Value;
+
+/**
+ * 列结构，取自 DatabaseMetaData.getColumns
+ */
+@Value
+public class ColumnSchema {
+    
+    /**
+     * 列名
+     */
+    String columnName;
+    
+    /**
+     * JDBC 类型，见 java.sql.Types
+     */
+    int dataType;
+    
+    /**
+     * 数据库类型名
+     */
+    String typeName;
+    
+    /**
+     * 列长度或数值精度
+     */
+    int columnSize;
+    
+    /**
+     * 小数位数
+     */
+    int decimalDigits;
+    
+    /**
+     * 是否可为空
+     */
+    boolean nullable;
+    
+    /**
+     * 是否自增
+     */
+    boolean autoIncrement;
+    
+    /**
+     * 列注释，可能为 null
+     */
+    String remarks;
+}
@@ -0,0 +1,159 @@
+package com.example.demo.codegen.schema;
+
+import com.example.demo.codegen.annotation.Index;
+import com.example.demo.codegen.config.CodeGenConfig;
+import com.example.demo.codegen.core.IndexDefinition;
+import com.example.demo.codegen.core.TemplateUtils;
+import com.mybatisflex.annotation.Column;
+import com.mybatisflex.annotation.Id;
+import com.mybatisflex.annotation.KeyType;
+import com.mybatisflex.annotation.Table;
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import lombok.Data;
+
+import javax.lang.model.element.Modifier;
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.util.UUID;
+
+/**
+ * 由表结构生成实体源码
+ * 生成与手写实体一致的 @Table/@Id/@Column 实体类，作为各层模板的输入
+ */
+public class SchemaEntityRenderer {
+    
+    private final CodeGenConfig config;
+    
+    public SchemaEntityRenderer(CodeGenConfig config) {
+        this.config = config;
+    }
+    
+    /**
+     * 生成实体类，包名为基础包名加实体包后缀；生成的各层代码只支持单列主键
+     */
+    public JavaFile render(TableSchema table) {
+        if (table.getPrimaryKeys().size() > 1) {
+            throw new IllegalArgumentException("Composite primary key " + table.getPrimaryKeys() + " in " + table.getTableName() + " is not supported");
+        }
+        TypeSpec.Builder entityBuilder = TypeSpec.classBuilder(className(table.getTableName()))
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Data.class)
+                .addAnnotation(AnnotationSpec.builder(Table.class)
+                        .addMember("value", "$S", table.getTableName())
+                        .build())
+                .addJavadoc("$L\n", isBlank(table.getRemarks()) ? "Entity for table " + table.getTableName() : table.getRemarks());
+        
+        // 索引声明，供各层模板生成走索引的查找方法
+        for (IndexDefinition index : table.getIndexes()) {
+            AnnotationSpec.Builder indexAnnotation = AnnotationSpec.builder(Index.class)
+                    .addMember("name", "$S", index.getName());
+            for (String column : index.getColumns()) {
+                indexAnnotation.addMember("columns", "$S", column);
+            }
+            if (index.isUnique()) {
+                indexAnnotation.addMember("unique", "$L", true);
+            }
+            entityBuilder.addAnnotation(indexAnnotation.build());
+        }
+        
+        for (ColumnSchema column : table.getColumns()) {
+            String fieldName = TemplateUtils.toCamelCase(column.getColumnName());
+            FieldSpec.Builder field = FieldSpec.builder(javaType(column), fieldName, Modifier.PRIVATE);
+            if (!isBlank(column.getRemarks())) {
+                // 注释按参数传入，其中的 $ 不会被当作 JavaPoet 占位符
+                field.addJavadoc("$L\n", column.getRemarks());
+            }
+            if (table.isPrimaryKey(column.getColumnName())) {
+                AnnotationSpec.Builder id = AnnotationSpec.builder(Id.class);
+                if (column.isAutoIncrement()) {
+                    id.addMember("keyType", "$T.Auto", KeyType.class);
+                }
+                field.addAnnotation(id.build());
+            }
+            // 列名与字段名的下划线形式一致时省略 @Column
+            if (!column.getColumnName().equalsIgnoreCase(TemplateUtils.toFieldName(fieldName))) {
+                field.addAnnotation(AnnotationSpec.builder(Column.class)
+                        .addMember("value", "$S", column.getColumnName())
+                        .build());
+            }
+            entityBuilder.addField(field.build());
+        }
+        
+        return JavaFile.builder(config.getBasePackage() + config.getEntityPackageSuffix(), entityBuilder.build())
+                .build();
+    }
+    
+    /**
+     * 表名转换为类名，先去除配置的表名前缀，如 tb_user_role 转换为 UserRole
+     */
+    public String className(String tableName) {
+        String name = tableName;
+        for (String prefix : config.getTablePrefixes()) {
+            if (name.length() > prefix.length() && name.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                name = name.substring(prefix.length());
+                break;
+            }
+        }
+        return TemplateUtils.capitalize(TemplateUtils.toCamelCase(name));
+    }
+    
+    /**
+     * JDBC 类型对应的 Java 类型，无精度损失的整数 DECIMAL 映射为 Integer/Long
+     */
+    static TypeName javaType(ColumnSchema column) {
+        switch (column.getDataType()) {
+            case Types.BIT:
+            case Types.BOOLEAN:
+                return ClassName.get(Boolean.class);
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+                return ClassName.get(Integer.class);
+            case Types.BIGINT:
+                return ClassName.get(Long.class);
+            case Types.REAL:
+                return ClassName.get(Float.class);
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return ClassName.get(Double.class);
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                if (column.getDecimalDigits() == 0 && column.getColumnSize() > 0 && column.getColumnSize() <= 18) {
+                    return ClassName.get(column.getColumnSize() <= 9 ? Integer.class : Long.class);
+                }
+                return ClassName.get(BigDecimal.class);
+            case Types.DATE:
+                return ClassName.get(LocalDate.class);
+            case Types.TIME:
+                return ClassName.get(LocalTime.class);
+            case Types.TIME_WITH_TIMEZONE:
+                return ClassName.get(OffsetTime.class);
+            case Types.TIMESTAMP:
+                return ClassName.get(LocalDateTime.class);
+            case Types.TIMESTAMP_WITH_TIMEZONE:
+                return ClassName.get(OffsetDateTime.class);
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+            case Types.BLOB:
+                return ArrayTypeName.of(TypeName.BYTE);
+            default:
+                return "UUID".equalsIgnoreCase(column.getTypeName()) ? ClassName.get(UUID.class) : ClassName.get(String.class);
+        }
+    }
+    
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
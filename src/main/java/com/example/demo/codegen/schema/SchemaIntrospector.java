@@ -0,0 +1,209 @@
+package com.example.demo.codegen.schema;
+
+import com.example.demo.codegen.core.IndexDefinition;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 数据库表结构读取器
+ * 通过 DatabaseMetaData 批量读取表、列、主键、索引和注释：表和列各一次按模式匹配的查询，
+ * 主键和索引（JDBC 只支持按表查询）按表分组后在多个连接上并行读取，不按表逐个往返查询列信息
+ */
+@Slf4j
+public class SchemaIntrospector {
+    
+    /**
+     * 表类型，H2 2.x 等数据库使用 BASE TABLE
+     */
+    private static final String[] TABLE_TYPES = {"TABLE", "BASE TABLE"};
+    
+    /**
+     * 每个并行任务读取主键和索引的表数量
+     */
+    private static final int TABLES_PER_TASK = 64;
+    
+    private final DataSource dataSource;
+    
+    private final int parallelism;
+    
+    public SchemaIntrospector(DataSource dataSource, int parallelism) {
+        this.dataSource = dataSource;
+        this.parallelism = Math.max(1, parallelism);
+    }
+    
+    /**
+     * 读取匹配的表结构，按表名排序
+     *
+     * @param catalog          目录，null 表示不限
+     * @param schemaPattern    模式名匹配，null 表示不限
+     * @param tableNamePattern 表名匹配，如 % 或 tb_%
+     */
+    public List<TableSchema> introspect(String catalog, String schemaPattern, String tableNamePattern) throws SQLException {
+        long start = System.nanoTime();
+        List<TableRef> tables = readTables(catalog, schemaPattern, tableNamePattern);
+        if (tables.isEmpty()) {
+            return List.of();
+        }
+        
+        int tasks = (tables.size() + TABLES_PER_TASK - 1) / TABLES_PER_TASK;
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, tasks + 1));
+        try {
+            Future<Map<String, List<ColumnSchema>>> columns = executor.submit(
+                    () -> readColumns(catalog, schemaPattern, tableNamePattern));
+            List<Future<Map<String, TableKeys>>> keys = new ArrayList<>(tasks);
+            for (int from = 0; from < tables.size(); from += TABLES_PER_TASK) {
+                List<TableRef> chunk = tables.subList(from, Math.min(from + TABLES_PER_TASK, tables.size()));
+                keys.add(executor.submit(() -> readKeys(chunk)));
+            }
+            
+            Map<String, TableKeys> keysByTable = new HashMap<>();
+            for (Future<Map<String, TableKeys>> chunk : keys) {
+                keysByTable.putAll(await(chunk));
+            }
+            Map<String, List<ColumnSchema>> columnsByTable = await(columns);
+            
+            List<TableSchema> result = new ArrayList<>(tables.size());
+            for (TableRef table : tables) {
+                TableKeys tableKeys = keysByTable.get(table.key());
+                result.add(new TableSchema(table.name(), table.remarks(),
+                        columnsByTable.getOrDefault(table.key(), List.of()),
+                        tableKeys.primaryKeys(), tableKeys.indexes()));
+            }
+            log.info("Introspected {} tables in {} ms", result.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return result;
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    private List<TableRef> readTables(String catalog, String schemaPattern, String tableNamePattern) throws SQLException {
+        Map<String, TableRef> tables = new TreeMap<>();
+        try (Connection connection = dataSource.getConnection();
+             ResultSet rs = connection.getMetaData().getTables(catalog, schemaPattern, tableNamePattern, TABLE_TYPES)) {
+            while (rs.next()) {
+                TableRef table = new TableRef(rs.getString("TABLE_CAT"), rs.getString("TABLE_SCHEM"),
+                        rs.getString("TABLE_NAME"), rs.getString("REMARKS"));
+                tables.putIfAbsent(table.key(), table);
+            }
+        }
+        return new ArrayList<>(tables.values());
+    }
+    
+    /**
+     * 一次查询读取所有匹配表的列，结果按表、列序号排列
+     */
+    private Map<String, List<ColumnSchema>> readColumns(String catalog, String schemaPattern, String tableNamePattern) throws SQLException {
+        Map<String, List<ColumnSchema>> columns = new HashMap<>();
+        try (Connection connection = dataSource.getConnection();
+             ResultSet rs = connection.getMetaData().getColumns(catalog, schemaPattern, tableNamePattern, "%")) {
+            while (rs.next()) {
+                String key = TableRef.key(rs.getString("TABLE_SCHEM"), rs.getString("TABLE_NAME"));
+                columns.computeIfAbsent(key, k -> new ArrayList<>()).add(new ColumnSchema(
+                        rs.getString("COLUMN_NAME"),
+                        rs.getInt("DATA_TYPE"),
+                        rs.getString("TYPE_NAME"),
+                        rs.getInt("COLUMN_SIZE"),
+                        rs.getInt("DECIMAL_DIGITS"),
+                        rs.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls,
+                        "YES".equalsIgnoreCase(rs.getString("IS_AUTOINCREMENT")),
+                        rs.getString("REMARKS")));
+            }
+        }
+        return columns;
+    }
+    
+    /**
+     * 在同一连接上读取一组表的主键和索引
+     */
+    private Map<String, TableKeys> readKeys(List<TableRef> tables) throws SQLException {
+        Map<String, TableKeys> keys = new HashMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (TableRef table : tables) {
+                List<String> primaryKeys = readPrimaryKeys(metaData, table);
+                keys.put(table.key(), new TableKeys(primaryKeys, readIndexes(metaData, table, primaryKeys)));
+            }
+        }
+        return keys;
+    }
+    
+    private static List<String> readPrimaryKeys(DatabaseMetaData metaData, TableRef table) throws SQLException {
+        Map<Integer, String> keyColumns = new TreeMap<>();
+        try (ResultSet rs = metaData.getPrimaryKeys(table.catalog(), table.schema(), table.name())) {
+            while (rs.next()) {
+                keyColumns.put(rs.getInt("KEY_SEQ"), rs.getString("COLUMN_NAME"));
+            }
+        }
+        return new ArrayList<>(keyColumns.values());
+    }
+    
+    /**
+     * 读取索引（近似统计即可），跳过与主键列相同的索引
+     */
+    private static List<IndexDefinition> readIndexes(DatabaseMetaData metaData, TableRef table, List<String> primaryKeys) throws SQLException {
+        Map<String, Map<Integer, String>> columnsByIndex = new TreeMap<>();
+        Map<String, Boolean> uniqueByIndex = new HashMap<>();
+        try (ResultSet rs = metaData.getIndexInfo(table.catalog(), table.schema(), table.name(), false, true)) {
+            while (rs.next()) {
+                String indexName = rs.getString("INDEX_NAME");
+                if (indexName == null || rs.getShort("TYPE") == DatabaseMetaData.tableIndexStatistic) {
+                    continue;
+                }
+                columnsByIndex.computeIfAbsent(indexName, k -> new TreeMap<>())
+                        .put((int) rs.getShort("ORDINAL_POSITION"), rs.getString("COLUMN_NAME"));
+                uniqueByIndex.put(indexName, !rs.getBoolean("NON_UNIQUE"));
+            }
+        }
+        List<IndexDefinition> indexes = new ArrayList<>(columnsByIndex.size());
+        for (Map.Entry<String, Map<Integer, String>> index : columnsByIndex.entrySet()) {
+            List<String> columns = List.copyOf(index.getValue().values());
+            if (!columns.equals(primaryKeys)) {
+                indexes.add(new IndexDefinition(index.getKey(), columns, uniqueByIndex.get(index.getKey())));
+            }
+        }
+        return indexes;
+    }
+    
+    private static <T> T await(Future<T> future) throws SQLException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while reading schema metadata", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new SQLException("Failed to read schema metadata", e.getCause());
+        }
+    }
+    
+    private record TableKeys(List<String> primaryKeys, List<IndexDefinition> indexes) {
+    }
+    
+    private record TableRef(String catalog, String schema, String name, String remarks) {
+        
+        String key() {
+            return key(schema, name);
+        }
+        
+        static String key(String schema, String name) {
+            return schema == null ? name : schema + "." + name;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.demo.codegen.schema;
+
+import com.example.demo.codegen.core.IndexDefinition;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * 表结构，包含按序号排列的列、主键列名和索引
+ */
+@Value
+public class TableSchema {
+    
+    /**
+     * 表名
+     */
+    String tableName;
+    
+    /**
+     * 表注释，可能为 null
+     */
+    String remarks;
+    
+    /**
+     * 按序号排列的列
+     */
+    List<ColumnSchema> columns;
+    
+    /**
+     * 按主键序号排列的主键列名
+     */
+    List<String> primaryKeys;
+    
+    /**
+     * 主键以外的索引
+     */
+    List<IndexDefinition> indexes;
+    
+    /**
+     * 是否为主键列
+     */
+    public boolean isPrimaryKey(String columnName) {
+        return primaryKeys.contains(columnName);
+    }
+}
@@ -0,0 +1,452 @@
+package com.example.demo.codegen.template;
+
+import com.example.demo.codegen.config.CodeGenConfig;
+import com.example.demo.codegen.core.CodeTemplate;
+import com.example.demo.codegen.core.EntityMetadata;
+import com.example.demo.codegen.core.EntitySymbols;
+import com.example.demo.codegen.core.TemplateUtils;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mybatisflex.core.query.QueryColumn;
+import com.mybatisflex.core.query.QueryWrapper;
+import com.mybatisflex.core.row.Db;
+import com.squareup.javapoet.*;
+import org.springframework.stereotype.Component;
+
+import javax.lang.model.element.Modifier;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 批量导入导出代码模板
+ * 生成按列名流式读写 CSV / NDJSON 的 XxxBulkTransfer：导入按 BATCH_SIZE 攒批后以 JDBC 批处理插入，
+ * 导出按ID键集分页逐批查询写出，两个方向内存中都只保留一个批次
+ */
+public class BulkCodeTemplate implements CodeTemplate {
+
+    /**
+     * 可由 JSON 原生表示的类型，NDJSON 导出时直接写出，其余类型按文本写出
+     */
+    private static final Set<TypeName> JSON_NATIVE_TYPES = Set.of(
+            ClassName.get(String.class), ClassName.get(Boolean.class), ClassName.get(Long.class),
+            ClassName.get(Integer.class), ClassName.get(Short.class), ClassName.get(Byte.class),
+            ClassName.get(Double.class), ClassName.get(Float.class),
+            ClassName.get(BigDecimal.class), ClassName.get(BigInteger.class));
+
+    /**
+     * 可用 X.parse(text) 解析的 java.time 类型
+     */
+    private static final Set<String> PARSEABLE_TIME_TYPES = Set.of(
+            "LocalDate", "LocalDateTime", "LocalTime", "OffsetDateTime", "OffsetTime", "ZonedDateTime",
+            "Instant", "Year", "YearMonth", "Duration");
+
+    @Override
+    public void generate(EntityMetadata metadata, CodeGenConfig config) throws IOException {
+        String entityName = metadata.getClassName();
+        EntitySymbols symbols = metadata.getSymbols();
+        ClassName entityType = symbols.getEntityType();
+        TypeName boxedIdType = symbols.getIdType().box();
+        ParameterizedTypeName listType = ParameterizedTypeName.get(ClassName.get(List.class), entityType);
+        String idColumn = ServiceImplCodeTemplate.columnConstant(symbols.getIdFieldName());
+        String excludingDeleted = symbols.hasLogicDelete() ? ", excluding deleted records" : "";
+
+        CodeBlock.Builder columns = CodeBlock.builder().add("{");
+        boolean first = true;
+        for (String column : symbols.getColumnNames().values()) {
+            columns.add(first ? "$S" : ", $S", column);
+            first = false;
+        }
+        columns.add("}");
+
+        TypeSpec.Builder bulkBuilder = TypeSpec.classBuilder(symbols.getBulkTransferType())
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Component.class)
+                .addJavadoc("Bulk CSV / NDJSON import and export of " + entityName + " keyed by column name.\n"
+                        + "Both directions stream and keep at most one batch of BATCH_SIZE rows in memory.\n")
+                .addField(FieldSpec.builder(TypeName.INT, "BATCH_SIZE", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$L", config.getBatchSize())
+                        .build())
+                .addField(FieldSpec.builder(String[].class, "COLUMNS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer(columns.build())
+                        .build())
+                .addField(FieldSpec.builder(QueryColumn.class, idColumn, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("new $T($S)", QueryColumn.class, symbols.getIdColumnName())
+                        .build())
+                .addField(symbols.getMapperType(), "mapper", Modifier.PRIVATE, Modifier.FINAL)
+                .addField(ObjectMapper.class, "objectMapper", Modifier.PRIVATE, Modifier.FINAL)
+                .addField(ObjectReader.class, "jsonReader", Modifier.PRIVATE, Modifier.FINAL)
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(symbols.getMapperType(), "mapper")
+                        .addParameter(ObjectMapper.class, "objectMapper")
+                        .addStatement("this.mapper = mapper")
+                        .addStatement("this.objectMapper = objectMapper")
+                        .addStatement("this.jsonReader = objectMapper.reader().with($T.USE_BIG_DECIMAL_FOR_FLOATS)", DeserializationFeature.class)
+                        .build());
+        if (symbols.hasLogicDelete()) {
+            bulkBuilder.addField(FieldSpec.builder(QueryColumn.class, ServiceImplCodeTemplate.columnConstant(symbols.getLogicDeleteField()),
+                            Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                    .initializer("new $T($S)", QueryColumn.class, symbols.columnName(symbols.getLogicDeleteField()))
+                    .build());
+        }
+
+        // 导入：逐条读取记录，攒满一批后写库再继续读取，读取速度受写库速度约束
+        bulkBuilder.addMethod(MethodSpec.methodBuilder("importCsv")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.LONG)
+                .addParameter(InputStream.class, "in")
+                .addException(IOException.class)
+                .addStatement("$T reader = new $T(new $T(in, $T.UTF_8))", BufferedReader.class, BufferedReader.class, InputStreamReader.class, StandardCharsets.class)
+                .addStatement("$T<String> header = readCsvRecord(reader)", List.class)
+                .beginControlFlow("if (header == null)")
+                .addStatement("return 0")
+                .endControlFlow()
+                .addStatement("int[] positions = new int[COLUMNS.length]")
+                .beginControlFlow("for (int i = 0; i < COLUMNS.length; i++)")
+                .addStatement("positions[i] = indexOfColumn(header, COLUMNS[i])")
+                .endControlFlow()
+                .addStatement("$T batch = new $T<>(BATCH_SIZE)", listType, ArrayList.class)
+                .addStatement("String[] values = new String[COLUMNS.length]")
+                .addStatement("long record = 0")
+                .addStatement("long imported = 0")
+                .addStatement("$T<String> cells", List.class)
+                .beginControlFlow("while ((cells = readCsvRecord(reader)) != null)")
+                .addStatement("record++")
+                .beginControlFlow("if (cells.size() == 1 && cells.get(0).isEmpty())")
+                .addStatement("continue")
+                .endControlFlow()
+                .beginControlFlow("for (int i = 0; i < COLUMNS.length; i++)")
+                .addStatement("String cell = positions[i] >= 0 && positions[i] < cells.size() ? cells.get(positions[i]) : $S", "")
+                .addStatement("values[i] = cell.isEmpty() ? null : cell")
+                .endControlFlow()
+                .addStatement("batch.add(toEntity(values, record))")
+                .beginControlFlow("if (batch.size() == BATCH_SIZE)")
+                .addStatement("imported += flush(batch)")
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("return imported + flush(batch)")
+                .addJavadoc("Imports " + entityName + " rows from UTF-8 CSV whose header names the columns.\n"
+                        + "Unknown columns are ignored and empty cells are imported as null.\n"
+                        + "@param in the CSV input, not closed\n@return the number of imported rows\n")
+                .build());
+        bulkBuilder.addMethod(MethodSpec.methodBuilder("importNdjson")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.LONG)
+                .addParameter(InputStream.class, "in")
+                .addException(IOException.class)
+                .addStatement("$T reader = new $T(new $T(in, $T.UTF_8))", BufferedReader.class, BufferedReader.class, InputStreamReader.class, StandardCharsets.class)
+                .addStatement("$T batch = new $T<>(BATCH_SIZE)", listType, ArrayList.class)
+                .addStatement("String[] values = new String[COLUMNS.length]")
+                .addStatement("long record = 0")
+                .addStatement("long imported = 0")
+                .addStatement("String line")
+                .beginControlFlow("while ((line = reader.readLine()) != null)")
+                .addStatement("record++")
+                .beginControlFlow("if (line.isBlank())")
+                .addStatement("continue")
+                .endControlFlow()
+                .addStatement("$T node = jsonReader.readTree(line)", JsonNode.class)
+                .beginControlFlow("for (int i = 0; i < COLUMNS.length; i++)")
+                .addStatement("$T value = node.path(COLUMNS[i])", JsonNode.class)
+                .addStatement("values[i] = value.isMissingNode() || value.isNull() ? null : value.asText()")
+                .endControlFlow()
+                .addStatement("batch.add(toEntity(values, record))")
+                .beginControlFlow("if (batch.size() == BATCH_SIZE)")
+                .addStatement("imported += flush(batch)")
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("return imported + flush(batch)")
+                .addJavadoc("Imports " + entityName + " rows from UTF-8 NDJSON, one object keyed by column name per line.\n"
+                        + "@param in the NDJSON input, not closed\n@return the number of imported rows\n")
+                .build());
+        bulkBuilder.addMethod(createFlushMethod(symbols, listType));
+        bulkBuilder.addMethod(createToEntityMethod(symbols, entityName));
+
+        // 导出：按ID键集分页，每批写出并 flush 后才查询下一批，输出端阻塞时不再读库
+        bulkBuilder.addMethod(MethodSpec.methodBuilder("exportCsv")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.LONG)
+                .addParameter(OutputStream.class, "out")
+                .addException(IOException.class)
+                .addStatement("return export(out, true)")
+                .addJavadoc("Exports all " + entityName + " rows" + excludingDeleted + " as UTF-8 CSV with a column name header.\n"
+                        + "@param out the CSV output, flushed but not closed\n@return the number of exported rows\n")
+                .build());
+        bulkBuilder.addMethod(MethodSpec.methodBuilder("exportNdjson")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.LONG)
+                .addParameter(OutputStream.class, "out")
+                .addException(IOException.class)
+                .addStatement("return export(out, false)")
+                .addJavadoc("Exports all " + entityName + " rows" + excludingDeleted + " as UTF-8 NDJSON keyed by column name.\n"
+                        + "@param out the NDJSON output, flushed but not closed\n@return the number of exported rows\n")
+                .build());
+        bulkBuilder.addMethod(createExportMethod(symbols, listType, boxedIdType, idColumn));
+
+        bulkBuilder.addMethod(createReadCsvRecordMethod());
+        bulkBuilder.addMethod(MethodSpec.methodBuilder("indexOfColumn")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(TypeName.INT)
+                .addParameter(ParameterizedTypeName.get(List.class, String.class), "header")
+                .addParameter(String.class, "column")
+                .beginControlFlow("for (int i = 0; i < header.size(); i++)")
+                .beginControlFlow("if (header.get(i).trim().equalsIgnoreCase(column))")
+                .addStatement("return i")
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("return -1")
+                .build());
+        bulkBuilder.addMethod(MethodSpec.methodBuilder("text")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(String.class)
+                .addParameter(Object.class, "value")
+                .beginControlFlow("if (value == null)")
+                .addStatement("return null")
+                .endControlFlow()
+                .beginControlFlow("if (value instanceof byte[] bytes)")
+                .addStatement("return $T.getEncoder().encodeToString(bytes)", Base64.class)
+                .endControlFlow()
+                .beginControlFlow("if (value instanceof $T decimal)", BigDecimal.class)
+                .addStatement("return decimal.toPlainString()")
+                .endControlFlow()
+                .beginControlFlow("if (value instanceof $T date)", Date.class)
+                .addStatement("return $T.ofEpochMilli(date.getTime()).toString()", Instant.class)
+                .endControlFlow()
+                .beginControlFlow("if (value instanceof Enum<?> constant)")
+                .addStatement("return constant.name()")
+                .endControlFlow()
+                .addStatement("return value.toString()")
+                .build());
+        bulkBuilder.addMethod(MethodSpec.methodBuilder("csvCell")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(String.class)
+                .addParameter(String.class, "text")
+                .beginControlFlow("if (text == null)")
+                .addStatement("return $S", "")
+                .endControlFlow()
+                .beginControlFlow("if (text.indexOf(',') < 0 && text.indexOf('\"') < 0 && text.indexOf('\\n') < 0 && text.indexOf('\\r') < 0)")
+                .addStatement("return text")
+                .endControlFlow()
+                .addStatement("return '\"' + text.replace($S, $S) + '\"'", "\"", "\"\"")
+                .build());
+
+        JavaFile javaFile = JavaFile.builder(symbols.getBulkTransferType().packageName(), bulkBuilder.build())
+                .build();
+
+        config.getOutputSink().write(javaFile);
+    }
+
+    private MethodSpec createFlushMethod(EntitySymbols symbols, TypeName listType) {
+        return MethodSpec.methodBuilder("flush")
+                .addModifiers(Modifier.PRIVATE)
+                .returns(TypeName.INT)
+                .addParameter(listType, "batch")
+                .beginControlFlow("if (batch.isEmpty())")
+                .addStatement("return 0")
+                .endControlFlow()
+                .addStatement("$T.executeBatch(batch, BATCH_SIZE, $T.class, (batchMapper, entity) -> batchMapper.insert(entity))",
+                        Db.class, symbols.getMapperType())
+                .addStatement("int size = batch.size()")
+                .addStatement("batch.clear()")
+                .addStatement("return size")
+                .addJavadoc("Inserts the batch as one JDBC batch and empties it for reuse.\n")
+                .build();
+    }
+
+    /**
+     * 按列顺序把文本值转换为字段值，空值保持字段默认值
+     */
+    private MethodSpec createToEntityMethod(EntitySymbols symbols, String entityName) {
+        MethodSpec.Builder method = MethodSpec.methodBuilder("toEntity")
+                .addModifiers(Modifier.PRIVATE)
+                .returns(symbols.getEntityType())
+                .addParameter(String[].class, "values")
+                .addParameter(TypeName.LONG, "record")
+                .addStatement("$T entity = new $T()", symbols.getEntityType(), symbols.getEntityType())
+                .beginControlFlow("try");
+        int i = 0;
+        for (Map.Entry<String, TypeName> field : symbols.getFieldTypes().entrySet()) {
+            String value = "values[" + i++ + "]";
+            method.beginControlFlow("if ($L != null)", value)
+                    .addStatement("entity.$L($L)", TemplateUtils.setterName(field.getKey()), parseValue(field.getValue(), value))
+                    .endControlFlow();
+        }
+        return method.nextControlFlow("catch ($T e)", RuntimeException.class)
+                .addStatement("throw new $T($S + record, e)", IllegalArgumentException.class, "Invalid " + entityName + " record ")
+                .endControlFlow()
+                .addStatement("return entity")
+                .build();
+    }
+
+    private CodeBlock parseValue(TypeName type, String value) {
+        TypeName boxed = type.box();
+        if (boxed.equals(ClassName.get(String.class))) {
+            return CodeBlock.of("$L", value);
+        }
+        if (boxed.equals(ClassName.get(Character.class))) {
+            return CodeBlock.of("$L.charAt(0)", value);
+        }
+        if (JSON_NATIVE_TYPES.contains(boxed) && !boxed.equals(ClassName.get(BigDecimal.class))
+                && !boxed.equals(ClassName.get(BigInteger.class))) {
+            return CodeBlock.of("$T.valueOf($L)", boxed, value);
+        }
+        if (boxed.equals(ClassName.get(BigDecimal.class)) || boxed.equals(ClassName.get(BigInteger.class))) {
+            return CodeBlock.of("new $T($L)", boxed, value);
+        }
+        if (boxed.equals(ClassName.get(UUID.class))) {
+            return CodeBlock.of("$T.fromString($L)", UUID.class, value);
+        }
+        if (boxed.equals(ArrayTypeName.of(TypeName.BYTE))) {
+            return CodeBlock.of("$T.getDecoder().decode($L)", Base64.class, value);
+        }
+        if (boxed instanceof ClassName className && "java.time".equals(className.packageName())
+                && PARSEABLE_TIME_TYPES.contains(className.simpleName())) {
+            return CodeBlock.of("$T.parse($L)", className, value);
+        }
+        // Date、枚举等其余类型交给 Jackson 转换
+        TypeName rawType = boxed instanceof ParameterizedTypeName parameterized ? parameterized.rawType : boxed;
+        return CodeBlock.of("objectMapper.convertValue($L, $T.class)", value, rawType);
+    }
+
+    private MethodSpec createExportMethod(EntitySymbols symbols, TypeName listType, TypeName boxedIdType, String idColumn) {
+        // 逻辑删除：已删除的记录不导出
+        CodeBlock notDeleted = symbols.hasLogicDelete()
+                ? CodeBlock.of("wrapper.and($L.eq($L));\n", ServiceImplCodeTemplate.columnConstant(symbols.getLogicDeleteField()),
+                        symbols.logicDeleteValue(false))
+                : CodeBlock.of("");
+        CodeBlock.Builder csvRow = CodeBlock.builder();
+        CodeBlock.Builder jsonRow = CodeBlock.builder();
+        boolean first = true;
+        for (Map.Entry<String, TypeName> field : symbols.getFieldTypes().entrySet()) {
+            String getter = TemplateUtils.getterName(field.getKey(), field.getValue());
+            String column = symbols.columnName(field.getKey());
+            if (!first) {
+                csvRow.addStatement("writer.write(',')");
+            }
+            csvRow.addStatement("writer.write(csvCell(text(entity.$L())))", getter);
+            if (JSON_NATIVE_TYPES.contains(field.getValue().box())) {
+                jsonRow.addStatement("row.put($S, entity.$L())", column, getter);
+            } else {
+                jsonRow.addStatement("row.put($S, text(entity.$L()))", column, getter);
+            }
+            first = false;
+        }
+
+        return MethodSpec.methodBuilder("export")
+                .addModifiers(Modifier.PRIVATE)
+                .returns(TypeName.LONG)
+                .addParameter(OutputStream.class, "out")
+                .addParameter(TypeName.BOOLEAN, "csv")
+                .addException(IOException.class)
+                .addStatement("$T writer = new $T(new $T(out, $T.UTF_8))", Writer.class, BufferedWriter.class, OutputStreamWriter.class, StandardCharsets.class)
+                .beginControlFlow("if (csv)")
+                .addStatement("writer.write(String.join($S, COLUMNS))", ",")
+                .addStatement("writer.write('\\n')")
+                .endControlFlow()
+                .addStatement("$T<String, Object> row = new $T<>()", Map.class, LinkedHashMap.class)
+                .addStatement("$T lastId = null", boxedIdType)
+                .addStatement("long exported = 0")
+                .beginControlFlow("while (true)")
+                .addStatement("$T wrapper = $T.create()", QueryWrapper.class, QueryWrapper.class)
+                .beginControlFlow("if (lastId != null)")
+                .addStatement("wrapper.where($L.gt(lastId))", idColumn)
+                .endControlFlow()
+                .addCode(notDeleted)
+                .addStatement("wrapper.orderBy($L.asc()).limit(BATCH_SIZE)", idColumn)
+                .addStatement("$T entities = mapper.selectListByQuery(wrapper)", listType)
+                .beginControlFlow("for ($T entity : entities)", symbols.getEntityType())
+                .beginControlFlow("if (csv)")
+                .addCode(csvRow.build())
+                .nextControlFlow("else")
+                .addCode(jsonRow.build())
+                .addStatement("writer.write(objectMapper.writeValueAsString(row))")
+                .endControlFlow()
+                .addStatement("writer.write('\\n')")
+                .endControlFlow()
+                .addStatement("writer.flush()")
+                .addStatement("exported += entities.size()")
+                .beginControlFlow("if (entities.size() < BATCH_SIZE)")
+                .addStatement("return exported")
+                .endControlFlow()
+                .addStatement("lastId = entities.get(entities.size() - 1).$L()",
+                        TemplateUtils.getterName(symbols.getIdFieldName(), symbols.getIdType()))
+                .endControlFlow()
+                .build();
+    }
+
+    /**
+     * 读取一条 CSV 记录，引号内的换行会继续读取下一行
+     */
+    private MethodSpec createReadCsvRecordMethod() {
+        return MethodSpec.methodBuilder("readCsvRecord")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(ParameterizedTypeName.get(List.class, String.class))
+                .addParameter(BufferedReader.class, "reader")
+                .addException(IOException.class)
+                .addStatement("String line = reader.readLine()")
+                .beginControlFlow("if (line == null)")
+                .addStatement("return null")
+                .endControlFlow()
+                .addStatement("$T<String> cells = new $T<>()", List.class, ArrayList.class)
+                .addStatement("$T cell = new $T()", StringBuilder.class, StringBuilder.class)
+                .addStatement("boolean quoted = false")
+                .beginControlFlow("while (true)")
+                .beginControlFlow("for (int i = 0; i < line.length(); i++)")
+                .addStatement("char c = line.charAt(i)")
+                .beginControlFlow("if (quoted)")
+                .beginControlFlow("if (c != '\"')")
+                .addStatement("cell.append(c)")
+                .nextControlFlow("else if (i + 1 < line.length() && line.charAt(i + 1) == '\"')")
+                .addStatement("cell.append(c)")
+                .addStatement("i++")
+                .nextControlFlow("else")
+                .addStatement("quoted = false")
+                .endControlFlow()
+                .nextControlFlow("else if (c == '\"')")
+                .addStatement("quoted = true")
+                .nextControlFlow("else if (c == ',')")
+                .addStatement("cells.add(cell.toString())")
+                .addStatement("cell.setLength(0)")
+                .nextControlFlow("else")
+                .addStatement("cell.append(c)")
+                .endControlFlow()
+                .endControlFlow()
+                .beginControlFlow("if (!quoted)")
+                .addStatement("break")
+                .endControlFlow()
+                .addStatement("line = reader.readLine()")
+                .beginControlFlow("if (line == null)")
+                .addStatement("throw new $T($S)", IOException.class, "Unterminated quoted CSV field")
+                .endControlFlow()
+                .addStatement("cell.append('\\n')")
+                .endControlFlow()
+                .addStatement("cells.add(cell.toString())")
+                .addStatement("return cells")
+                .build();
+    }
+
+    @Override
+    public String getTemplateName() {
+        return "bulk";
+    }
+}
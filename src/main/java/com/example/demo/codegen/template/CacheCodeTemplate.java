@@ -0,0 +1,192 @@
+package com.example.demo.codegen.template;
+
+import com.example.demo.codegen.config.CodeGenConfig;
+import com.example.demo.codegen.core.CodeTemplate;
+import com.example.demo.codegen.core.EntityMetadata;
+import com.example.demo.codegen.core.EntitySymbols;
+import com.example.demo.codegen.core.TemplateUtils;
+import com.mybatisflex.core.query.QueryWrapper;
+import com.squareup.javapoet.*;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import javax.lang.model.element.Modifier;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 缓存装饰器代码模板
+ * 生成包装 Service 实现的 read-through 缓存（Caffeine），按ID缓存实体，写操作后失效对应条目
+ */
+public class CacheCodeTemplate implements CodeTemplate {
+
+    private static final ClassName CACHE = ClassName.get("com.github.benmanes.caffeine.cache", "Cache");
+    private static final ClassName CAFFEINE = ClassName.get("com.github.benmanes.caffeine.cache", "Caffeine");
+    private static final ClassName CACHE_STATS = ClassName.get("com.github.benmanes.caffeine.cache.stats", "CacheStats");
+
+    @Override
+    public void generate(EntityMetadata metadata, CodeGenConfig config) throws IOException {
+        String entityName = metadata.getClassName();
+        EntitySymbols symbols = metadata.getSymbols();
+        TypeName entityType = symbols.getEntityType();
+        TypeName idType = symbols.getIdType();
+        TypeName boxedIdType = idType.box();
+        ParameterizedTypeName listType = ParameterizedTypeName.get(ClassName.get(List.class), entityType);
+        ParameterizedTypeName idCollectionType = ParameterizedTypeName.get(ClassName.get(Collection.class), boxedIdType);
+        ParameterizedTypeName cacheType = ParameterizedTypeName.get(CACHE, boxedIdType, entityType);
+        String idGetter = TemplateUtils.getterName(symbols.getIdFieldName(), idType);
+
+        TypeSpec.Builder cacheBuilder = TypeSpec.classBuilder(symbols.getCachingServiceType())
+                .addModifiers(Modifier.PUBLIC)
+                .addSuperinterface(symbols.getServiceType())
+                .addAnnotation(Service.class)
+                .addAnnotation(Primary.class)
+                .addJavadoc("Read-through caching decorator for " + entityName + "Service.\n"
+                        + "Entities are cached by ID with size and TTL based eviction and invalidated after writes.\n")
+                .addField(FieldSpec.builder(TypeName.LONG, "MAX_SIZE", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$LL", config.getCacheMaxSize())
+                        .build())
+                .addField(FieldSpec.builder(Duration.class, "TTL", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$T.ofSeconds($L)", Duration.class, config.getCacheTtlSeconds())
+                        .build())
+                .addField(symbols.getServiceType(), "delegate", Modifier.PRIVATE, Modifier.FINAL)
+                .addField(cacheType, "cache", Modifier.PRIVATE, Modifier.FINAL)
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(symbols.getServiceImplType(), "delegate")
+                        .addStatement("this.delegate = delegate")
+                        .addStatement("this.cache = $T.newBuilder()\n.maximumSize(MAX_SIZE)\n.expireAfterWrite(TTL)\n.recordStats()\n.build()", CAFFEINE)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("stats")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(CACHE_STATS)
+                        .addStatement("return cache.stats()")
+                        .addJavadoc("Returns hit, miss, load and eviction statistics of the " + entityName + " cache.\n")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("invalidateAll")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(TypeName.VOID)
+                        .addStatement("cache.invalidateAll()")
+                        .addJavadoc("Discards all cached " + entityName + " entities.\n")
+                        .build());
+
+        // 读操作：按ID读穿缓存
+        cacheBuilder.addMethod(override("getMapper", symbols.getMapperType())
+                .addStatement("return delegate.getMapper()")
+                .build());
+        cacheBuilder.addMethod(override("selectById", entityType)
+                .addParameter(idType, "id")
+                .addStatement("return cache.get(id, delegate::selectById)")
+                .build());
+        cacheBuilder.addMethod(override("selectByIds", listType)
+                .addParameter(idCollectionType, "ids")
+                .beginControlFlow("if (ids == null || ids.isEmpty())")
+                .addStatement("return new $T<>()", ArrayList.class)
+                .endControlFlow()
+                .addCode("$T cached = cache.getAll(ids, missing -> {\n$>", ParameterizedTypeName.get(ClassName.get(Map.class), boxedIdType, entityType))
+                .addStatement("$T loaded = new $T<>()", ParameterizedTypeName.get(ClassName.get(Map.class), boxedIdType, entityType), HashMap.class)
+                .beginControlFlow("for ($T entity : delegate.selectByIds(new $T<>(missing)))", entityType, ArrayList.class)
+                .addStatement("loaded.put(entity.$L(), entity)", idGetter)
+                .endControlFlow()
+                .addStatement("return loaded")
+                .addCode("$<});\n")
+                .addStatement("return new $T<>(cached.values())", ArrayList.class)
+                .build());
+
+        // 条件查询不缓存，直接委托
+        cacheBuilder.addMethod(override("buildQueryWrapper", ClassName.get(QueryWrapper.class))
+                .addParameter(symbols.getQueryType(), "query")
+                .addStatement("return delegate.buildQueryWrapper(query)")
+                .build());
+        cacheBuilder.addMethod(override("selectList", listType)
+                .addParameter(symbols.getQueryType(), "query")
+                .addStatement("return delegate.selectList(query)")
+                .build());
+        cacheBuilder.addMethod(override("selectPage", ParameterizedTypeName.get(symbols.getPageType(), entityType))
+                .addParameter(TypeName.INT, "pageNumber")
+                .addParameter(TypeName.INT, "pageSize")
+                .addParameter(symbols.getQueryType(), "query")
+                .addParameter(TypeName.BOOLEAN, "withTotal")
+                .addStatement("return delegate.selectPage(pageNumber, pageSize, query, withTotal)")
+                .build());
+
+        // 写操作：委托后失效对应缓存条目
+        cacheBuilder.addMethod(override("insert", TypeName.VOID)
+                .addParameter(entityType, "entity")
+                .addStatement("delegate.insert(entity)")
+                .build());
+        cacheBuilder.addMethod(override("insertBatch", TypeName.VOID)
+                .addParameter(listType, "entities")
+                .addStatement("delegate.insertBatch(entities)")
+                .build());
+        cacheBuilder.addMethod(override("updateById", TypeName.VOID)
+                .addParameter(entityType, "entity")
+                .beginControlFlow("try")
+                .addStatement("delegate.updateById(entity)")
+                .nextControlFlow("finally")
+                .addStatement("cache.invalidate(entity.$L())", idGetter)
+                .endControlFlow()
+                .build());
+        if (config.isDirtyTracking()) {
+            cacheBuilder.addMethod(override("updateFieldsById", TypeName.VOID)
+                    .addParameter(entityType, "entity")
+                    .addParameter(ParameterizedTypeName.get(Collection.class, String.class), "fields")
+                    .beginControlFlow("try")
+                    .addStatement("delegate.updateFieldsById(entity, fields)")
+                    .nextControlFlow("finally")
+                    .addStatement("cache.invalidate(entity.$L())", idGetter)
+                    .endControlFlow()
+                    .build());
+        }
+        cacheBuilder.addMethod(override("deleteById", TypeName.VOID)
+                .addParameter(idType, "id")
+                .beginControlFlow("try")
+                .addStatement("delegate.deleteById(id)")
+                .nextControlFlow("finally")
+                .addStatement("cache.invalidate(id)")
+                .endControlFlow()
+                .build());
+        cacheBuilder.addMethod(override("updateBatchById", TypeName.VOID)
+                .addParameter(listType, "entities")
+                .beginControlFlow("try")
+                .addStatement("delegate.updateBatchById(entities)")
+                .nextControlFlow("finally")
+                .beginControlFlow("if (entities != null)")
+                .addStatement("entities.forEach(entity -> cache.invalidate(entity.$L()))", idGetter)
+                .endControlFlow()
+                .endControlFlow()
+                .build());
+        cacheBuilder.addMethod(override("deleteBatchByIds", TypeName.VOID)
+                .addParameter(idCollectionType, "ids")
+                .beginControlFlow("try")
+                .addStatement("delegate.deleteBatchByIds(ids)")
+                .nextControlFlow("finally")
+                .beginControlFlow("if (ids != null)")
+                .addStatement("cache.invalidateAll(ids)")
+                .endControlFlow()
+                .endControlFlow()
+                .build());
+
+        JavaFile javaFile = JavaFile.builder(symbols.getCachingServiceType().packageName(), cacheBuilder.build())
+                .build();
+
+        config.getOutputSink().write(javaFile);
+    }
+
+    private static MethodSpec.Builder override(String name, TypeName returnType) {
+        return MethodSpec.methodBuilder(name)
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(returnType);
+    }
+
+    @Override
+    public String getTemplateName() {
+        return "cache";
+    }
+}
@@ -3,122 +3,348 @@ package com.example.demo.codegen.template;
 import com.example.demo.codegen.config.CodeGenConfig;
 import com.example.demo.codegen.core.CodeTemplate;
 import com.example.demo.codegen.core.EntityMetadata;
+import com.example.demo.codegen.core.EntitySymbols;
 import com.example.demo.codegen.core.TemplateUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.squareup.javapoet.*;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.lang.model.element.Modifier;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Controller代码模板
+ * blocking 风格在请求线程上同步执行；async 风格返回 CompletableFuture，在注入的执行器上执行数据库调用，并发上限由执行器配置决定
  */
 public class ControllerCodeTemplate implements CodeTemplate {
 
     @Override
     public void generate(EntityMetadata metadata, CodeGenConfig config) throws IOException {
-        ClassName serviceType = ClassName.get(config.getFullPackage("service"), metadata.getClassName() + "Service");
-        TypeName entityType = ClassName.get(metadata.getPackageName(), metadata.getClassName());
-        TypeName idTypeName = TemplateUtils.resolveTypeName(metadata.getIdType());
-        ClassName dtoType = ClassName.get(config.getFullPackage("dto"), metadata.getClassName() + "Dto");
-        ClassName queryType = ClassName.get(config.getFullPackage("dto"), metadata.getClassName() + "Query");
-        ClassName pageType = ClassName.get("com.mybatisflex.core.paginate", "Page");
+        EntitySymbols symbols = metadata.getSymbols();
+        TypeName idTypeName = symbols.getIdType();
+        ClassName dtoType = symbols.getDtoType();
+        ClassName queryType = symbols.getQueryType();
         ParameterizedTypeName listDtoType = ParameterizedTypeName.get(ClassName.get(List.class), dtoType);
-        ParameterizedTypeName pageDtoType = ParameterizedTypeName.get(pageType, dtoType);
+        ParameterizedTypeName pageDtoType = ParameterizedTypeName.get(symbols.getPageType(), dtoType);
 
-        TypeSpec.Builder controllerBuilder = TypeSpec.classBuilder(metadata.getClassName() + "Controller")
+        TypeSpec.Builder controllerBuilder = TypeSpec.classBuilder(symbols.getControllerType())
                 .addModifiers(Modifier.PUBLIC)
                 .addAnnotation(RestController.class)
                 .addAnnotation(AnnotationSpec.builder(RequestMapping.class)
                     .addMember("value", "$S", "/api/" + metadata.getClassName().toLowerCase())
                     .build())
-                .addJavadoc(metadata.getClassJavadoc() + " REST API Controller\n")
-                .addField(FieldSpec.builder(serviceType, "service", Modifier.PRIVATE)
-                        .addAnnotation(Autowired.class)
-                        .build());
-
-        // 添加CRUD接口方法
-        controllerBuilder.addMethod(createGetByIdMethod(entityType, idTypeName, metadata.getClassName()));
-        controllerBuilder.addMethod(createCreateMethod(dtoType, metadata.getClassName()));
-        controllerBuilder.addMethod(createUpdateMethod(dtoType, metadata.getClassName()));
-        controllerBuilder.addMethod(createDeleteMethod(idTypeName, metadata.getClassName()));
-        controllerBuilder.addMethod(createListMethod(listDtoType, queryType, metadata.getClassName()));
-        controllerBuilder.addMethod(createPageMethod(pageDtoType, queryType, metadata.getClassName()));
-
-        JavaFile javaFile = JavaFile.builder(config.getFullPackage("controller"), controllerBuilder.build())
+                .addJavadoc(metadata.getClassJavadoc() + " REST API Controller\n");
+
+        // 构造器注入，依赖声明为 final
+        MethodSpec.Builder constructor = MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PUBLIC);
+        addDependency(controllerBuilder, constructor, ParameterSpec.builder(symbols.getServiceType(), "service").build());
+        addDependency(controllerBuilder, constructor, ParameterSpec.builder(symbols.getConvertorType(), "convertor").build());
+        boolean async = config.isAsyncController();
+        if (async) {
+            addDependency(controllerBuilder, constructor, ParameterSpec.builder(Executor.class, "executor")
+                    .addAnnotation(AnnotationSpec.builder(Qualifier.class)
+                            .addMember("value", "$S", config.getControllerExecutor())
+                            .build())
+                    .build());
+        }
+        if (config.isStreamExport()) {
+            addDependency(controllerBuilder, constructor, ParameterSpec.builder(TransactionTemplate.class, "transactionTemplate").build());
+            addDependency(controllerBuilder, constructor, ParameterSpec.builder(ObjectMapper.class, "objectMapper").build());
+        }
+        controllerBuilder.addMethod(constructor.build());
+
+        // 添加CRUD接口方法，实体与DTO之间通过转换器转换
+        controllerBuilder.addMethod(createGetByIdMethod(dtoType, idTypeName, metadata.getClassName(), async));
+        controllerBuilder.addMethod(createCreateMethod(dtoType, metadata.getClassName(), async));
+        controllerBuilder.addMethod(createUpdateMethod(dtoType, metadata.getClassName(), async));
+        if (config.isDirtyTracking()) {
+            controllerBuilder.addMethod(createPatchMethod(dtoType, metadata.getClassName(), async));
+        }
+        controllerBuilder.addMethod(createDeleteMethod(idTypeName, metadata.getClassName(), async));
+        controllerBuilder.addMethod(createListMethod(listDtoType, queryType, metadata.getClassName(), async));
+        controllerBuilder.addMethod(createPageMethod(pageDtoType, queryType, metadata.getClassName(), async));
+        
+        // 游标分页接口
+        ClassName seekPageType = symbols.getServiceType().nestedClass(ServiceCodeTemplate.SEEK_PAGE);
+        controllerBuilder.addMethod(createSeekMethod(ParameterizedTypeName.get(seekPageType, dtoType),
+                symbols.getServiceType(), queryType, metadata.getClassName(), async));
+        
+        // 批量接口
+        ParameterizedTypeName idListType = ParameterizedTypeName.get(ClassName.get(List.class), idTypeName.box());
+        controllerBuilder.addMethod(createBatchCreateMethod(listDtoType, metadata.getClassName(), async));
+        controllerBuilder.addMethod(createBatchUpdateMethod(listDtoType, metadata.getClassName(), async));
+        controllerBuilder.addMethod(createBatchDeleteMethod(idListType, metadata.getClassName(), async));
+        controllerBuilder.addMethod(createBatchGetMethod(listDtoType, idListType, metadata.getClassName(), async));
+
+        // 索引查找接口
+        for (Map.Entry<String, Boolean> finder : symbols.getFinderFields().entrySet()) {
+            addFinderMethods(controllerBuilder, symbols, finder.getKey(), finder.getValue(), async);
+        }
+
+        // 流式导出接口，StreamingResponseBody 本身在 MVC 异步线程上写出，两种风格一致
+        if (config.isStreamExport()) {
+            controllerBuilder.addMethod(createExportMethod(symbols, metadata.getClassName()));
+            controllerBuilder.addMethod(createCsvCellMethod());
+        }
+
+        JavaFile javaFile = JavaFile.builder(symbols.getControllerType().packageName(), controllerBuilder.build())
                 .build();
 
-        javaFile.writeTo(config.getOutputDir());
+        config.getOutputSink().write(javaFile);
+    }
+
+    private static void addDependency(TypeSpec.Builder controllerBuilder, MethodSpec.Builder constructor, ParameterSpec parameter) {
+        controllerBuilder.addField(parameter.type, parameter.name, Modifier.PRIVATE, Modifier.FINAL);
+        constructor.addParameter(parameter)
+                .addStatement("this.$N = $N", parameter.name, parameter.name);
+    }
+
+    /**
+     * 设置返回类型和方法体：同步风格直接执行调用，异步风格将调用提交到执行器并返回 CompletableFuture
+     */
+    private static MethodSpec.Builder respond(MethodSpec.Builder method, TypeName returnType, boolean async,
+                                              String format, Object... args) {
+        CodeBlock call = CodeBlock.of(format, args);
+        boolean isVoid = TypeName.VOID.equals(returnType);
+        if (!async) {
+            return isVoid
+                    ? method.returns(TypeName.VOID).addStatement("$L", call)
+                    : method.returns(returnType).addStatement("return $L", call);
+        }
+        if (isVoid) {
+            return method.returns(ParameterizedTypeName.get(ClassName.get(CompletableFuture.class), ClassName.get(Void.class)))
+                    .addStatement("return $T.runAsync(() -> $L, executor)", CompletableFuture.class, call);
+        }
+        return method.returns(ParameterizedTypeName.get(ClassName.get(CompletableFuture.class), returnType.box()))
+                .addStatement("return $T.supplyAsync(() -> $L, executor)", CompletableFuture.class, call);
     }
 
-    private MethodSpec createGetByIdMethod(TypeName returnType, TypeName idTypeName, String entityName) {
-        return MethodSpec.methodBuilder("getById")
+    private MethodSpec createGetByIdMethod(TypeName returnType, TypeName idTypeName, String entityName, boolean async) {
+        MethodSpec.Builder method = MethodSpec.methodBuilder("getById")
                 .addModifiers(Modifier.PUBLIC)
                 .addAnnotation(AnnotationSpec.builder(GetMapping.class).addMember("value", "$S", "/{id}").build())
-                .returns(returnType)
                 .addParameter(idTypeName, "id", Modifier.FINAL)
-                .addStatement("return service.selectById(id)")
-                .addJavadoc("查询$L详情\n@param id $LID\n@return $L详情\n", entityName, entityName, entityName)
-                .build();
+                .addJavadoc("查询$L详情\n@param id $LID\n@return $L详情\n", entityName, entityName, entityName);
+        return respond(method, returnType, async, "convertor.toDto(service.selectById(id))").build();
     }
 
-    private MethodSpec createCreateMethod(TypeName dtoType, String entityName) {
-        return MethodSpec.methodBuilder("create")
+    private MethodSpec createCreateMethod(TypeName dtoType, String entityName, boolean async) {
+        MethodSpec.Builder method = MethodSpec.methodBuilder("create")
                 .addModifiers(Modifier.PUBLIC)
                 .addAnnotation(PostMapping.class)
-                .returns(TypeName.VOID)
                 .addParameter(ParameterSpec.builder(dtoType, "dto", Modifier.FINAL).addAnnotation(AnnotationSpec.builder(RequestBody.class).addMember("required", "$L", true).build()).build())
-                .addStatement("service.insert(dto)")
-                .addJavadoc("创建$L\n@param dto $L数据传输对象\n", entityName, entityName)
-                .build();
+                .addJavadoc("创建$L\n@param dto $L数据传输对象\n", entityName, entityName);
+        return respond(method, TypeName.VOID, async, "service.insert(convertor.toEntity(dto))").build();
     }
 
-    private MethodSpec createUpdateMethod(TypeName dtoType, String entityName) {
-        return MethodSpec.methodBuilder("update")
+    private MethodSpec createUpdateMethod(TypeName dtoType, String entityName, boolean async) {
+        MethodSpec.Builder method = MethodSpec.methodBuilder("update")
                 .addModifiers(Modifier.PUBLIC)
                 .addAnnotation(PutMapping.class)
-                .returns(TypeName.VOID)
                 .addParameter(ParameterSpec.builder(dtoType, "dto", Modifier.FINAL).addAnnotation(AnnotationSpec.builder(RequestBody.class).addMember("required", "$L", true).build()).build())
-                .addStatement("service.updateById(dto)")
-                .addJavadoc("更新$L\n@param dto $L数据传输对象\n", entityName, entityName)
-                .build();
+                .addJavadoc("更新$L\n@param dto $L数据传输对象\n", entityName, entityName);
+        return respond(method, TypeName.VOID, async, "service.updateById(convertor.toEntity(dto))").build();
     }
 
-    private MethodSpec createDeleteMethod(TypeName idTypeName, String entityName) {
-        return MethodSpec.methodBuilder("delete")
+    private MethodSpec createPatchMethod(TypeName dtoType, String entityName, boolean async) {
+        MethodSpec.Builder method = MethodSpec.methodBuilder("patch")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(PatchMapping.class)
+                .addParameter(ParameterSpec.builder(dtoType, "dto", Modifier.FINAL).addAnnotation(AnnotationSpec.builder(RequestBody.class).addMember("required", "$L", true).build()).build())
+                .addJavadoc("部分更新$L，只更新请求体中出现的字段\n@param dto $L数据传输对象，须包含ID\n", entityName, entityName);
+        return respond(method, TypeName.VOID, async, "service.updateFieldsById(convertor.toEntity(dto), dto.dirtyFields())").build();
+    }
+
+    private MethodSpec createDeleteMethod(TypeName idTypeName, String entityName, boolean async) {
+        MethodSpec.Builder method = MethodSpec.methodBuilder("delete")
                 .addModifiers(Modifier.PUBLIC)
                 .addAnnotation(AnnotationSpec.builder(DeleteMapping.class).addMember("value", "$S", "/{id}").build())
-                .returns(TypeName.VOID)
                 .addParameter(idTypeName, "id", Modifier.FINAL)
-                .addStatement("service.deleteById(id)")
-                .addJavadoc("删除$L\n@param id $LID\n", entityName, entityName)
-                .build();
+                .addJavadoc("删除$L\n@param id $LID\n", entityName, entityName);
+        return respond(method, TypeName.VOID, async, "service.deleteById(id)").build();
     }
 
-    private MethodSpec createListMethod(TypeName returnType, TypeName queryType, String entityName) {
-        return MethodSpec.methodBuilder("list")
+    private MethodSpec createListMethod(TypeName returnType, TypeName queryType, String entityName, boolean async) {
+        MethodSpec.Builder method = MethodSpec.methodBuilder("list")
                 .addModifiers(Modifier.PUBLIC)
                 .addAnnotation(AnnotationSpec.builder(GetMapping.class).addMember("value", "$S", "/list").build())
-                .returns(returnType)
-                .addParameter(ParameterSpec.builder(queryType, "query").addAnnotation(AnnotationSpec.builder(RequestParam.class).addMember("required", "$L", false).build()).build())
-                .addStatement("return service.selectList(query != null ? query : new $T()", queryType)
-                .addJavadoc("查询$L列表\n@param query 查询条件\n@return $L列表\n", entityName, entityName)
-                .build();
+                .addParameter(queryType, "query")
+                .addJavadoc("查询$L列表\n@param query 查询条件\n@return $L列表\n", entityName, entityName);
+        return respond(method, returnType, async, "convertor.toDtoList(service.selectList(query != null ? query : new $T()))", queryType).build();
     }
 
-    private MethodSpec createPageMethod(TypeName returnType, TypeName queryType, String entityName) {
-        return MethodSpec.methodBuilder("page")
+    private MethodSpec createPageMethod(TypeName returnType, TypeName queryType, String entityName, boolean async) {
+        MethodSpec.Builder method = MethodSpec.methodBuilder("page")
                 .addModifiers(Modifier.PUBLIC)
                 .addAnnotation(AnnotationSpec.builder(GetMapping.class).addMember("value", "$S", "/page").build())
-                .returns(returnType)
                 .addParameter(ParameterSpec.builder(TypeName.INT, "pageNumber").addAnnotation(AnnotationSpec.builder(RequestParam.class).addMember("defaultValue", "$S", "1").build()).build())
                 .addParameter(ParameterSpec.builder(TypeName.INT, "pageSize").addAnnotation(AnnotationSpec.builder(RequestParam.class).addMember("defaultValue", "$S", "10").build()).build())
-                .addParameter(ParameterSpec.builder(queryType, "query").addAnnotation(AnnotationSpec.builder(RequestParam.class).addMember("required", "$L", false).build()).build())
-                .addStatement("return service.selectPage(pageNumber, pageSize, query != null ? query : new $T())", queryType)
-                .addJavadoc("分页查询$L\n@param pageNumber 页码\n@param pageSize 每页大小\n@param query 查询条件\n@return $L分页结果\n", entityName, entityName)
+                .addParameter(ParameterSpec.builder(TypeName.BOOLEAN, "withTotal").addAnnotation(AnnotationSpec.builder(RequestParam.class).addMember("defaultValue", "$S", "true").build()).build())
+                .addParameter(queryType, "query")
+                .addJavadoc("分页查询$L\n@param pageNumber 页码\n@param pageSize 每页大小\n@param withTotal 是否统计总数，翻页时可传 false 跳过 COUNT 查询\n@param query 查询条件\n@return $L分页结果\n", entityName, entityName);
+        return respond(method, returnType, async, "service.selectPage(pageNumber, pageSize, query != null ? query : new $T(), withTotal).map(convertor::toDto)", queryType).build();
+    }
+
+    private MethodSpec createSeekMethod(TypeName returnType, ClassName serviceType, TypeName queryType, String entityName, boolean async) {
+        MethodSpec.Builder method = MethodSpec.methodBuilder("seek")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(GetMapping.class).addMember("value", "$S", "/seek").build())
+                .addParameter(ParameterSpec.builder(String.class, "cursor").addAnnotation(AnnotationSpec.builder(RequestParam.class).addMember("required", "$L", false).build()).build())
+                .addParameter(ParameterSpec.builder(TypeName.INT, "limit").addAnnotation(AnnotationSpec.builder(RequestParam.class).addMember("defaultValue", "$S", "20").build()).build())
+                .addParameter(queryType, "query")
+                .addJavadoc("游标分页查询$L，无需统计总数，深分页与首页开销一致\n@param cursor 上一页返回的游标，首页为空\n@param limit 每页大小\n@param query 查询条件\n@return $L游标分页结果\n", entityName, entityName);
+        return respond(method, returnType, async, "service.selectAfter($T.decodeCursor(cursor), limit, query != null ? query : new $T()).map(convertor::toDto)", serviceType, queryType).build();
+    }
+
+    private void addFinderMethods(TypeSpec.Builder controllerBuilder, EntitySymbols symbols, String fieldName,
+                                  boolean unique, boolean async) {
+        ClassName dtoType = symbols.getDtoType();
+        TypeName fieldType = symbols.fieldType(fieldName).box();
+        ParameterizedTypeName listDtoType = ParameterizedTypeName.get(ClassName.get(List.class), dtoType);
+        String finder = MapperCodeTemplate.finderName(fieldName);
+        String path = "/by-" + TemplateUtils.toFieldName(fieldName).replace('_', '-');
+
+        MethodSpec.Builder byValue = MethodSpec.methodBuilder(finder)
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(GetMapping.class).addMember("value", "$S", path).build())
+                .addParameter(ParameterSpec.builder(fieldType, fieldName).addAnnotation(RequestParam.class).build())
+                .addJavadoc("按索引字段 $L 查询\n@param $L 查询值\n@return 匹配的记录\n", fieldName, fieldName);
+        controllerBuilder.addMethod(unique
+                ? respond(byValue, dtoType, async, "convertor.toDto(service.$L($L))", finder, fieldName).build()
+                : respond(byValue, listDtoType, async, "convertor.toDtoList(service.$L($L))", finder, fieldName).build());
+
+        MethodSpec.Builder byValues = MethodSpec.methodBuilder(finder + "In")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(GetMapping.class).addMember("value", "$S", path + "/in").build())
+                .addParameter(ParameterSpec.builder(ParameterizedTypeName.get(ClassName.get(List.class), fieldType), "values")
+                        .addAnnotation(RequestParam.class)
+                        .build())
+                .addJavadoc("按索引字段 $L 批量查询\n@param values 查询值列表\n@return 匹配的记录\n", fieldName);
+        controllerBuilder.addMethod(respond(byValues, listDtoType, async, "convertor.toDtoList(service.$LIn(values))", finder).build());
+    }
+
+    private MethodSpec createExportMethod(EntitySymbols symbols, String entityName) {
+        ParameterizedTypeName cursorType = ParameterizedTypeName.get(ClassName.get(Cursor.class), symbols.getEntityType());
+        
+        // CSV 每行逐列写出，不拼接整行字符串
+        CodeBlock.Builder csvRow = CodeBlock.builder();
+        boolean first = true;
+        for (Map.Entry<String, TypeName> field : symbols.getFieldTypes().entrySet()) {
+            if (!first) {
+                csvRow.addStatement("writer.write(',')");
+            }
+            String getter = TemplateUtils.getterName(field.getKey(), field.getValue());
+            csvRow.addStatement("writer.write(csvCell(dto.$L()))", getter);
+            first = false;
+        }
+        csvRow.addStatement("writer.write('\\n')");
+        String csvHeader = String.join(",", symbols.getFieldTypes().keySet()) + "\n";
+        
+        // lambda 体内的语句不能嵌套在 addStatement 中，直接按代码块拼接
+        CodeBlock body = CodeBlock.builder()
+                .add("$T body = out -> transactionTemplate.executeWithoutResult(status -> {\n", StreamingResponseBody.class)
+                .indent()
+                .addStatement("$T writer = new $T(new $T(out, $T.UTF_8))", Writer.class, BufferedWriter.class, OutputStreamWriter.class, StandardCharsets.class)
+                .beginControlFlow("try ($T cursor = service.getMapper().streamAll())", cursorType)
+                .beginControlFlow("if (csv)")
+                .addStatement("writer.write($S)", csvHeader)
+                .endControlFlow()
+                .beginControlFlow("for ($T entity : cursor)", symbols.getEntityType())
+                .addStatement("$T dto = convertor.toDto(entity)", symbols.getDtoType())
+                .beginControlFlow("if (csv)")
+                .add(csvRow.build())
+                .nextControlFlow("else")
+                .addStatement("writer.write(objectMapper.writeValueAsString(dto))")
+                .addStatement("writer.write('\\n')")
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("writer.flush()")
+                .nextControlFlow("catch ($T e)", IOException.class)
+                .addStatement("throw new $T(e)", UncheckedIOException.class)
+                .endControlFlow()
+                .unindent()
+                .add("});\n")
                 .build();
+        
+        return MethodSpec.methodBuilder("export")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(GetMapping.class).addMember("value", "$S", "/export").build())
+                .returns(ParameterizedTypeName.get(ResponseEntity.class, StreamingResponseBody.class))
+                .addParameter(ParameterSpec.builder(String.class, "format").addAnnotation(AnnotationSpec.builder(RequestParam.class).addMember("defaultValue", "$S", "ndjson").build()).build())
+                .addStatement("boolean csv = $S.equalsIgnoreCase(format)", "csv")
+                .addCode(body)
+                .addStatement("return $T.ok()\n.contentType(csv ? new $T($S, $S, $T.UTF_8) : $T.APPLICATION_NDJSON)\n.body(body)",
+                        ResponseEntity.class, MediaType.class, "text", "csv", StandardCharsets.class, MediaType.class)
+                .addJavadoc("流式导出全部$L，逐行读取、转换并写出，内存占用与数据量无关\n@param format 导出格式：ndjson 或 csv\n@return 流式响应\n", entityName)
+                .build();
+    }
+
+    private MethodSpec createCsvCellMethod() {
+        return MethodSpec.methodBuilder("csvCell")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(String.class)
+                .addParameter(Object.class, "value")
+                .beginControlFlow("if (value == null)")
+                .addStatement("return $S", "")
+                .endControlFlow()
+                .addStatement("String text = value.toString()")
+                .beginControlFlow("if (text.indexOf(',') < 0 && text.indexOf('\"') < 0 && text.indexOf('\\n') < 0 && text.indexOf('\\r') < 0)")
+                .addStatement("return text")
+                .endControlFlow()
+                .addStatement("return '\"' + text.replace($S, $S) + '\"'", "\"", "\"\"")
+                .build();
+    }
+
+    private MethodSpec createBatchCreateMethod(TypeName listDtoType, String entityName, boolean async) {
+        MethodSpec.Builder method = MethodSpec.methodBuilder("createBatch")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(PostMapping.class).addMember("value", "$S", "/batch").build())
+                .addParameter(ParameterSpec.builder(listDtoType, "dtos", Modifier.FINAL).addAnnotation(RequestBody.class).build())
+                .addJavadoc("批量创建$L\n@param dtos $L数据传输对象列表\n", entityName, entityName);
+        return respond(method, TypeName.VOID, async, "service.insertBatch(convertor.toEntityList(dtos))").build();
+    }
+
+    private MethodSpec createBatchUpdateMethod(TypeName listDtoType, String entityName, boolean async) {
+        MethodSpec.Builder method = MethodSpec.methodBuilder("updateBatch")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(PutMapping.class).addMember("value", "$S", "/batch").build())
+                .addParameter(ParameterSpec.builder(listDtoType, "dtos", Modifier.FINAL).addAnnotation(RequestBody.class).build())
+                .addJavadoc("批量更新$L\n@param dtos $L数据传输对象列表\n", entityName, entityName);
+        return respond(method, TypeName.VOID, async, "service.updateBatchById(convertor.toEntityList(dtos))").build();
+    }
+
+    private MethodSpec createBatchDeleteMethod(TypeName idListType, String entityName, boolean async) {
+        MethodSpec.Builder method = MethodSpec.methodBuilder("deleteBatch")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(PostMapping.class).addMember("value", "$S", "/batch/delete").build())
+                .addParameter(ParameterSpec.builder(idListType, "ids", Modifier.FINAL).addAnnotation(RequestBody.class).build())
+                .addJavadoc("批量删除$L\n@param ids $LID列表\n", entityName, entityName);
+        return respond(method, TypeName.VOID, async, "service.deleteBatchByIds(ids)").build();
+    }
+
+    private MethodSpec createBatchGetMethod(TypeName listDtoType, TypeName idListType, String entityName, boolean async) {
+        MethodSpec.Builder method = MethodSpec.methodBuilder("getByIds")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(GetMapping.class).addMember("value", "$S", "/batch").build())
+                .addParameter(ParameterSpec.builder(idListType, "ids").addAnnotation(RequestParam.class).build())
+                .addJavadoc("根据ID列表批量查询$L\n@param ids $LID列表\n@return $L列表\n", entityName, entityName, entityName);
+        return respond(method, listDtoType, async, "convertor.toDtoList(service.selectByIds(ids))").build();
     }
 
     @Override
@@ -4,54 +4,138 @@ package com.example.demo.codegen.template;
 import com.example.demo.codegen.config.CodeGenConfig;
 import com.example.demo.codegen.core.CodeTemplate;
 import com.example.demo.codegen.core.EntityMetadata;
+import com.example.demo.codegen.core.EntitySymbols;
+import com.example.demo.codegen.core.TemplateUtils;
+import com.squareup.javapoet.AnnotationSpec;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.springframework.stereotype.Component;
 
 import javax.lang.model.element.Modifier;
 import java.io.IOException;
-import java.nio.file.Path;
-
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
+/**
+ * 转换器代码模板
+ * mapstruct 风格生成 MapStruct 接口；plain 风格生成直接复制字段的普通 Java 类，不依赖注解处理器
+ */
 public class ConvertorCodeTemplate implements CodeTemplate {
 
     @Override
     public void generate(EntityMetadata metadata, CodeGenConfig config) throws IOException {
         String entityName = metadata.getClassName();
-        String packageName = metadata.getBasePackage();
-        Path outputDir = config.getOutputDir();
-        TypeName entityType = ClassName.get(packageName + ".dal.entity", entityName);
-        ClassName dtoType = ClassName.get(packageName + ".dto", entityName + "Dto");
+        EntitySymbols symbols = metadata.getSymbols();
+        TypeName entityType = symbols.getEntityType();
+        ClassName dtoType = symbols.getDtoType();
+        boolean plain = config.isPlainConvertor();
 
-        MethodSpec toEntity = MethodSpec.methodBuilder("toEntity")
-                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+        MethodSpec.Builder toEntity = MethodSpec.methodBuilder("toEntity")
+                .addModifiers(Modifier.PUBLIC)
                 .returns(entityType)
                 .addParameter(dtoType, "dto")
-                .addJavadoc("Converts a " + entityName + "Dto to a " + entityName + " entity.\n@param dto the DTO to convert\n@return the " + entityName + " entity\n")
-                .build();
+                .addJavadoc("Converts a " + entityName + "Dto to a " + entityName + " entity.\n@param dto the DTO to convert\n@return the " + entityName + " entity\n");
 
-        MethodSpec toDto = MethodSpec.methodBuilder("toDto")
-                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+        MethodSpec.Builder toDto = MethodSpec.methodBuilder("toDto")
+                .addModifiers(Modifier.PUBLIC)
                 .returns(dtoType)
                 .addParameter(entityType, "entity")
-                .addJavadoc("Converts a " + entityName + " entity to a " + entityName + "Dto.\n@param entity the entity to convert\n@return the " + entityName + "Dto\n")
-                .build();
+                .addJavadoc("Converts a " + entityName + " entity to a " + entityName + "Dto.\n@param entity the entity to convert\n@return the " + entityName + "Dto\n");
+
+        MethodSpec.Builder toDtoList = MethodSpec.methodBuilder("toDtoList")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(ParameterizedTypeName.get(ClassName.get(List.class), dtoType))
+                .addParameter(ParameterizedTypeName.get(ClassName.get(List.class), entityType), "entities")
+                .addJavadoc("Converts a list of " + entityName + " entities to " + entityName + "Dto list.\n@param entities the entities to convert\n@return the " + entityName + "Dto list\n");
 
-        TypeSpec mapper = TypeSpec.interfaceBuilder(entityName + "MapStructMapper")
+        MethodSpec.Builder toEntityList = MethodSpec.methodBuilder("toEntityList")
                 .addModifiers(Modifier.PUBLIC)
-                .addAnnotation(Mapper.class)
-                .addJavadoc("MapStruct mapper for converting between " + entityName + " and " + entityName + "Dto\n")
-                .addMethod(toEntity)
-                .addMethod(toDto)
+                .returns(ParameterizedTypeName.get(ClassName.get(List.class), entityType))
+                .addParameter(ParameterizedTypeName.get(ClassName.get(List.class), dtoType), "dtos")
+                .addJavadoc("Converts a list of " + entityName + "Dto to " + entityName + " entities.\n@param dtos the DTOs to convert\n@return the " + entityName + " entities\n");
+
+        TypeSpec.Builder convertorBuilder;
+        if (plain) {
+            addCopyBody(toEntity, symbols, "dto", entityType, symbols.getLogicDeleteField());
+            addCopyBody(toDto, symbols, "entity", dtoType, null);
+            addListBody(toDtoList, "entities", entityType, dtoType, "toDto");
+            addListBody(toEntityList, "dtos", dtoType, entityType, "toEntity");
+            convertorBuilder = TypeSpec.classBuilder(symbols.getConvertorType())
+                    .addModifiers(Modifier.PUBLIC)
+                    .addAnnotation(Component.class)
+                    .addJavadoc("Converter between " + entityName + " and " + entityName + "Dto using direct field copies\n");
+        } else {
+            for (MethodSpec.Builder method : List.of(toEntity, toDto, toDtoList, toEntityList)) {
+                method.addModifiers(Modifier.ABSTRACT);
+            }
+            if (symbols.hasLogicDelete()) {
+                // 删除标记只由删除接口维护，DTO 传入的值不写入实体
+                toEntity.addAnnotation(AnnotationSpec.builder(Mapping.class)
+                        .addMember("target", "$S", symbols.getLogicDeleteField())
+                        .addMember("ignore", "true")
+                        .build());
+            }
+            convertorBuilder = TypeSpec.interfaceBuilder(symbols.getConvertorType())
+                    .addModifiers(Modifier.PUBLIC)
+                    .addAnnotation(AnnotationSpec.builder(Mapper.class)
+                            .addMember("componentModel", "$S", "spring")
+                            .build())
+                    .addJavadoc("MapStruct mapper for converting between " + entityName + " and " + entityName + "Dto\n");
+        }
+
+        TypeSpec convertor = convertorBuilder
+                .addMethod(toEntity.build())
+                .addMethod(toDto.build())
+                .addMethod(toDtoList.build())
+                .addMethod(toEntityList.build())
                 .build();
 
-        JavaFile javaFile = JavaFile.builder(packageName + ".mapstruct", mapper)
+        JavaFile javaFile = JavaFile.builder(symbols.getConvertorType().packageName(), convertor)
                 .build();
 
-        javaFile.writeTo(outputDir);
+        config.getOutputSink().write(javaFile);
+    }
+
+    /**
+     * 逐字段复制，实体与 DTO 字段一一对应，skippedField 不为空时跳过该字段
+     */
+    private void addCopyBody(MethodSpec.Builder method, EntitySymbols symbols, String source, TypeName targetType,
+                             String skippedField) {
+        method.beginControlFlow("if ($L == null)", source)
+                .addStatement("return null")
+                .endControlFlow()
+                .addStatement("$T target = new $T()", targetType, targetType);
+        for (Map.Entry<String, TypeName> field : symbols.getFieldTypes().entrySet()) {
+            if (field.getKey().equals(skippedField)) {
+                continue;
+            }
+            method.addStatement("target.$L($L.$L())", TemplateUtils.setterName(field.getKey()),
+                    source, TemplateUtils.getterName(field.getKey(), field.getValue()));
+        }
+        method.addStatement("return target");
+    }
+
+    /**
+     * 列表转换使用预分配容量的 ArrayList，避免扩容和 Stream 的中间对象
+     */
+    private void addListBody(MethodSpec.Builder method, String source, TypeName sourceElementType,
+                             TypeName elementType, String convert) {
+        method.beginControlFlow("if ($L == null)", source)
+                .addStatement("return null")
+                .endControlFlow()
+                .addStatement("$T result = new $T<>($L.size())",
+                        ParameterizedTypeName.get(ClassName.get(List.class), elementType), ArrayList.class, source)
+                .beginControlFlow("for ($T item : $L)", sourceElementType, source)
+                .addStatement("result.add($L(item))", convert)
+                .endControlFlow()
+                .addStatement("return result");
     }
 
     @Override
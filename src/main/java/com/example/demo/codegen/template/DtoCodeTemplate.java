@@ -3,32 +3,44 @@ package com.example.demo.codegen.template;
 import com.example.demo.codegen.config.CodeGenConfig;
 import com.example.demo.codegen.core.CodeTemplate;
 import com.example.demo.codegen.core.EntityMetadata;
+import com.example.demo.codegen.core.EntitySymbols;
 import com.example.demo.codegen.core.TemplateUtils;
 import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.body.VariableDeclarator;
 import com.squareup.javapoet.*;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.ToString;
 
 import javax.lang.model.element.Modifier;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 /**
  * DTO代码模板
+ * 启用 dirtyTracking 时生成显式 setter 记录已设置的字段，供 Service 只更新这些字段对应的列
  */
 public class DtoCodeTemplate implements CodeTemplate {
     
     @Override
     public void generate(EntityMetadata metadata, CodeGenConfig config) throws IOException {
-        TypeSpec.Builder dtoBuilder = TypeSpec.classBuilder(metadata.getClassName() + "Dto")
+        EntitySymbols symbols = metadata.getSymbols();
+        TypeSpec.Builder dtoBuilder = TypeSpec.classBuilder(symbols.getDtoType())
                 .addModifiers(Modifier.PUBLIC)
                 .addAnnotation(Data.class)
                 .addJavadoc(metadata.getClassJavadoc() + "\n");
         
         // 为每个字段生成属性
         for (FieldDeclaration field : metadata.getFields()) {
+            if (field.isStatic()) {
+                continue;
+            }
             VariableDeclarator variable = field.getVariables().get(0);
             String fieldName = variable.getNameAsString();
-            TypeName fieldType = TemplateUtils.resolveTypeName(variable.getTypeAsString());
+            TypeName fieldType = symbols.fieldType(fieldName);
             
             FieldSpec.Builder fieldSpecBuilder = FieldSpec.builder(fieldType, fieldName, Modifier.PRIVATE);
             
@@ -38,12 +50,45 @@ public class DtoCodeTemplate implements CodeTemplate {
             );
             
             dtoBuilder.addField(fieldSpecBuilder.build());
+            if (config.isDirtyTracking()) {
+                dtoBuilder.addMethod(MethodSpec.methodBuilder(TemplateUtils.setterName(fieldName))
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(fieldType, fieldName)
+                        .addStatement("this.$L = $L", fieldName, fieldName)
+                        .addStatement("dirtyFields.add($S)", fieldName)
+                        .build());
+            }
         }
         
-        JavaFile javaFile = JavaFile.builder(config.getFullPackage("dto"), dtoBuilder.build())
+        if (config.isDirtyTracking()) {
+            addDirtyFields(dtoBuilder);
+        }
+        
+        JavaFile javaFile = JavaFile.builder(symbols.getDtoType().packageName(), dtoBuilder.build())
                 .build();
         
-        javaFile.writeTo(config.getOutputDir());
+        config.getOutputSink().write(javaFile);
+    }
+    
+    /**
+     * 已设置字段集合不参与序列化、equals 和 toString
+     */
+    private void addDirtyFields(TypeSpec.Builder dtoBuilder) {
+        ParameterizedTypeName stringSetType = ParameterizedTypeName.get(Set.class, String.class);
+        dtoBuilder.addField(FieldSpec.builder(stringSetType, "dirtyFields", Modifier.PRIVATE, Modifier.FINAL, Modifier.TRANSIENT)
+                .addAnnotation(AnnotationSpec.builder(Getter.class)
+                        .addMember("value", "$T.NONE", AccessLevel.class)
+                        .build())
+                .addAnnotation(ToString.Exclude.class)
+                .initializer("new $T<>()", LinkedHashSet.class)
+                .addJavadoc("Names of the fields set since construction, in call order.\n")
+                .build());
+        dtoBuilder.addMethod(MethodSpec.methodBuilder("dirtyFields")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(stringSetType)
+                .addStatement("return $T.unmodifiableSet(dirtyFields)", Collections.class)
+                .addJavadoc("Returns the names of the fields whose setters were called, including those set to null.\n")
+                .build());
     }
     
     @Override
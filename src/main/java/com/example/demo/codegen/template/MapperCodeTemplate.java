@@ -3,35 +3,120 @@ package com.example.demo.codegen.template;
 import com.example.demo.codegen.config.CodeGenConfig;
 import com.example.demo.codegen.core.CodeTemplate;
 import com.example.demo.codegen.core.EntityMetadata;
+import com.example.demo.codegen.core.EntitySymbols;
 import com.example.demo.codegen.core.TemplateUtils;
 import com.mybatisflex.core.BaseMapper;
+import com.mybatisflex.core.query.QueryColumn;
+import com.mybatisflex.core.query.QueryWrapper;
 import com.squareup.javapoet.*;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
 
 import javax.lang.model.element.Modifier;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Mapper代码模板
+ * 按实体索引生成 selectByXxx/selectByXxxIn 查找方法，引导调用方走索引访问路径
  */
 public class MapperCodeTemplate implements CodeTemplate {
     
     @Override
     public void generate(EntityMetadata metadata, CodeGenConfig config) throws IOException {
-        TypeName entityType = ClassName.get(metadata.getPackageName(), metadata.getClassName());
-        TypeName idTypeName = TemplateUtils.resolveTypeName(metadata.getIdType());
+        EntitySymbols symbols = metadata.getSymbols();
         
-        TypeSpec mapper = TypeSpec.interfaceBuilder(metadata.getClassName() + "FlexMapper")
+        TypeSpec.Builder mapperBuilder = TypeSpec.interfaceBuilder(symbols.getMapperType())
                 .addModifiers(Modifier.PUBLIC)
                 .addSuperinterface(ParameterizedTypeName.get(
                         ClassName.get(BaseMapper.class),
-                        entityType))
-                .addJavadoc(metadata.getClassJavadoc() + "\nMyBatis-Flex Mapper interface for " + metadata.getClassName() + "\n")
-                .build();
+                        symbols.getEntityType()))
+                .addJavadoc(metadata.getClassJavadoc() + "\nMyBatis-Flex Mapper interface for " + metadata.getClassName() + "\n");
+        
+        if (config.isStreamExport()) {
+            mapperBuilder.addMethod(createStreamAllMethod(metadata, config));
+        }
+        
+        // 索引查找方法：只为索引首列生成，唯一键返回单个实体
+        for (Map.Entry<String, Boolean> finder : symbols.getFinderFields().entrySet()) {
+            addFinderMethods(mapperBuilder, symbols, finder.getKey(), finder.getValue());
+        }
         
-        JavaFile javaFile = JavaFile.builder(config.getFullPackage("mapper"), mapper)
+        JavaFile javaFile = JavaFile.builder(symbols.getMapperType().packageName(), mapperBuilder.build())
                 .build();
         
-        javaFile.writeTo(config.getOutputDir());
+        config.getOutputSink().write(javaFile);
+    }
+    
+    private void addFinderMethods(TypeSpec.Builder mapperBuilder, EntitySymbols symbols, String fieldName, boolean unique) {
+        TypeName entityType = symbols.getEntityType();
+        TypeName fieldType = symbols.fieldType(fieldName).box();
+        String column = symbols.columnName(fieldName);
+        String finder = finderName(fieldName);
+        // 逻辑删除的记录不参与查找
+        CodeBlock notDeleted = symbols.hasLogicDelete()
+                ? CodeBlock.of(".and(new $T($S).eq($L))", QueryColumn.class,
+                        symbols.columnName(symbols.getLogicDeleteField()), symbols.logicDeleteValue(false))
+                : CodeBlock.of("");
+        
+        mapperBuilder.addMethod(MethodSpec.methodBuilder(finder)
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .returns(unique ? entityType : ParameterizedTypeName.get(ClassName.get(List.class), entityType))
+                .addParameter(fieldType, fieldName)
+                .addStatement("return $L($T.create().where(new $T($S).eq($L))$L)",
+                        unique ? "selectOneByQuery" : "selectListByQuery", QueryWrapper.class, QueryColumn.class, column, fieldName, notDeleted)
+                .addJavadoc("Selects by the indexed column " + column + ".\n")
+                .build());
+        mapperBuilder.addMethod(MethodSpec.methodBuilder(finder + "In")
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .returns(ParameterizedTypeName.get(ClassName.get(List.class), entityType))
+                .addParameter(ParameterizedTypeName.get(ClassName.get(Collection.class), fieldType), "values")
+                .beginControlFlow("if (values == null || values.isEmpty())")
+                .addStatement("return new $T<>()", ArrayList.class)
+                .endControlFlow()
+                .addStatement("return selectListByQuery($T.create().where(new $T($S).in(values))$L)",
+                        QueryWrapper.class, QueryColumn.class, column, notDeleted)
+                .addJavadoc("Selects rows whose indexed column " + column + " matches any of the values.\n")
+                .build());
+    }
+    
+    /**
+     * 索引查找方法名，如 email 对应 selectByEmail
+     */
+    static String finderName(String fieldName) {
+        return "selectBy" + TemplateUtils.capitalize(fieldName);
+    }
+    
+    /**
+     * 流式查询全表：显式列出列名并映射到属性名，只读前向游标按 fetchSize 分批拉取
+     */
+    private MethodSpec createStreamAllMethod(EntityMetadata metadata, CodeGenConfig config) {
+        EntitySymbols symbols = metadata.getSymbols();
+        List<String> columns = new ArrayList<>();
+        for (Map.Entry<String, String> column : symbols.getColumnNames().entrySet()) {
+            String fieldName = column.getKey();
+            columns.add(column.getValue().equals(fieldName) ? fieldName : column.getValue() + " AS " + fieldName);
+        }
+        String sql = "SELECT " + String.join(", ", columns) + " FROM " + metadata.getTableName();
+        if (symbols.hasLogicDelete()) {
+            sql += " WHERE " + symbols.columnName(symbols.getLogicDeleteField()) + " = " + symbols.logicDeleteValue(false);
+        }
+        
+        return MethodSpec.methodBuilder("streamAll")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addAnnotation(AnnotationSpec.builder(Select.class).addMember("value", "$S", sql).build())
+                .addAnnotation(AnnotationSpec.builder(Options.class)
+                        .addMember("fetchSize", "$L", config.getStreamFetchSize())
+                        .addMember("resultSetType", "$T.FORWARD_ONLY", ResultSetType.class)
+                        .build())
+                .returns(ParameterizedTypeName.get(ClassName.get(Cursor.class), symbols.getEntityType()))
+                .addJavadoc("Streams all rows of " + metadata.getTableName() + ". Must be consumed inside a transaction and closed after use.\n@return a cursor over all " + metadata.getClassName() + " rows\n")
+                .build();
     }
     
     @Override
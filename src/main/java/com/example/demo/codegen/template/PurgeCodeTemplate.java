@@ -0,0 +1,127 @@
+package com.example.demo.codegen.template;
+
+import com.example.demo.codegen.config.CodeGenConfig;
+import com.example.demo.codegen.core.CodeTemplate;
+import com.example.demo.codegen.core.EntityMetadata;
+import com.example.demo.codegen.core.EntitySymbols;
+import com.mybatisflex.core.logicdelete.LogicDeleteManager;
+import com.mybatisflex.core.query.QueryColumn;
+import com.mybatisflex.core.query.QueryWrapper;
+import com.squareup.javapoet.*;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.lang.model.element.Modifier;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 逻辑删除数据清理任务代码模板
+ * 只为有逻辑删除字段的实体生成 XxxPurgeJob：按ID顺序每次选出一批已删除记录的ID，按主键物理删除后停顿再继续，
+ * 每条 DELETE 只锁定一批行且独立提交，不会长时间持锁。
+ * 查询和删除在 LogicDeleteManager.execWithoutLogicDelete 中执行：删除标记由 @Column(isLogicDelete = true) 或全局配置交给
+ * MyBatis-Flex 管理时，框架会自动追加未删除条件并把删除改写为 UPDATE，清理任务必须关闭该处理
+ */
+public class PurgeCodeTemplate implements CodeTemplate {
+
+    @Override
+    public void generate(EntityMetadata metadata, CodeGenConfig config) throws IOException {
+        EntitySymbols symbols = metadata.getSymbols();
+        if (!symbols.hasLogicDelete()) {
+            return;
+        }
+        String entityName = metadata.getClassName();
+        TypeName boxedIdType = symbols.getIdType().box();
+        String idColumn = ServiceImplCodeTemplate.columnConstant(symbols.getIdFieldName());
+        String deletedColumn = ServiceImplCodeTemplate.columnConstant(symbols.getLogicDeleteField());
+        String deleted = symbols.logicDeleteValue(true);
+        String cronProperty = Character.toLowerCase(entityName.charAt(0)) + entityName.substring(1) + ".purge.cron";
+
+        MethodSpec purge = MethodSpec.methodBuilder("purge")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(Scheduled.class)
+                        .addMember("cron", "$S", "${" + cronProperty + ":-}")
+                        .build())
+                .returns(TypeName.LONG)
+                .beginControlFlow("if (!running.compareAndSet(false, true))")
+                .addStatement("return 0")
+                .endControlFlow()
+                .beginControlFlow("try")
+                .addStatement("$T lastId = null", boxedIdType)
+                .addStatement("long purged = 0")
+                .beginControlFlow("while (true)")
+                .addStatement("$T wrapper = $T.create().select($L).where($L.eq($L))",
+                        QueryWrapper.class, QueryWrapper.class, idColumn, deletedColumn, deleted)
+                .beginControlFlow("if (lastId != null)")
+                .addStatement("wrapper.and($L.gt(lastId))", idColumn)
+                .endControlFlow()
+                .addStatement("wrapper.orderBy($L.asc()).limit(BATCH_SIZE)", idColumn)
+                .addStatement("$T ids = $T.execWithoutLogicDelete(() -> mapper.selectObjectListByQueryAs(wrapper, $T.class))",
+                        ParameterizedTypeName.get(ClassName.get(List.class), boxedIdType), LogicDeleteManager.class, boxedIdType)
+                .beginControlFlow("if (ids.isEmpty())")
+                .addStatement("return purged")
+                .endControlFlow()
+                .addComment("再次校验删除标记，期间被恢复的记录不会被删除")
+                .addStatement("purged += $T.execWithoutLogicDelete(() -> mapper.deleteByQuery($T.create().where($L.in(ids)).and($L.eq($L))))",
+                        LogicDeleteManager.class, QueryWrapper.class, idColumn, deletedColumn, deleted)
+                .beginControlFlow("if (ids.size() < BATCH_SIZE)")
+                .addStatement("return purged")
+                .endControlFlow()
+                .addStatement("lastId = ids.get(ids.size() - 1)")
+                .beginControlFlow("try")
+                .addStatement("$T.sleep(PAUSE_MILLIS)", Thread.class)
+                .nextControlFlow("catch ($T e)", InterruptedException.class)
+                .addStatement("$T.currentThread().interrupt()", Thread.class)
+                .addStatement("return purged")
+                .endControlFlow()
+                .endControlFlow()
+                .nextControlFlow("finally")
+                .addStatement("running.set(false)")
+                .endControlFlow()
+                .addJavadoc("Physically deletes all soft-deleted " + entityName + " rows, at most BATCH_SIZE rows per statement\n"
+                        + "with a pause of PAUSE_MILLIS between statements. Runs on the cron expression of the\n"
+                        + "{@code " + cronProperty + "} property when scheduling is enabled, and never by default.\n"
+                        + "Call it outside a transaction so that each batch commits on its own.\n"
+                        + "@return the number of deleted rows, 0 if a purge is already running\n")
+                .build();
+
+        TypeSpec purgeJob = TypeSpec.classBuilder(symbols.getPurgeJobType())
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Component.class)
+                .addJavadoc("Purges soft-deleted " + entityName + " rows in bounded ID-ordered batches.\n")
+                .addField(FieldSpec.builder(TypeName.INT, "BATCH_SIZE", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$L", config.getPurgeBatchSize())
+                        .build())
+                .addField(FieldSpec.builder(TypeName.LONG, "PAUSE_MILLIS", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$LL", config.getPurgePauseMillis())
+                        .build())
+                .addField(FieldSpec.builder(QueryColumn.class, idColumn, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("new $T($S)", QueryColumn.class, symbols.getIdColumnName())
+                        .build())
+                .addField(FieldSpec.builder(QueryColumn.class, deletedColumn, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("new $T($S)", QueryColumn.class, symbols.columnName(symbols.getLogicDeleteField()))
+                        .build())
+                .addField(symbols.getMapperType(), "mapper", Modifier.PRIVATE, Modifier.FINAL)
+                .addField(FieldSpec.builder(AtomicBoolean.class, "running", Modifier.PRIVATE, Modifier.FINAL)
+                        .initializer("new $T()", AtomicBoolean.class)
+                        .build())
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(symbols.getMapperType(), "mapper")
+                        .addStatement("this.mapper = mapper")
+                        .build())
+                .addMethod(purge)
+                .build();
+
+        JavaFile javaFile = JavaFile.builder(symbols.getPurgeJobType().packageName(), purgeJob)
+                .build();
+
+        config.getOutputSink().write(javaFile);
+    }
+
+    @Override
+    public String getTemplateName() {
+        return "purge";
+    }
+}
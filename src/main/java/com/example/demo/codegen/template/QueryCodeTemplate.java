@@ -4,18 +4,171 @@ package com.example.demo.codegen.template;
 import com.example.demo.codegen.config.CodeGenConfig;
 import com.example.demo.codegen.core.CodeTemplate;
 import com.example.demo.codegen.core.EntityMetadata;
+import com.example.demo.codegen.core.EntitySymbols;
+import com.example.demo.codegen.core.TemplateUtils;
+import com.mybatisflex.core.query.QueryColumn;
+import com.squareup.javapoet.*;
+import lombok.Data;
 
+import javax.lang.model.element.Modifier;
 import java.io.IOException;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+/**
+ * Query代码模板
+ * 生成查询条件类：实体字段作为过滤条件，字段枚举用于列投影，只查询客户端需要的列
+ */
 public class QueryCodeTemplate implements CodeTemplate {
 
+    /**
+     * 可投影字段枚举，作为嵌套类型生成在 Query 类中
+     */
+    public static final String FIELD_ENUM = "Field";
 
+    public static final String MIN_SUFFIX = "Min";
+
+    public static final String MAX_SUFFIX = "Max";
+
+    public static final String IN_SUFFIX = "In";
+
+    public static final String STARTS_WITH_SUFFIX = "StartsWith";
+
+    /**
+     * Query 自身的属性名，实体字段不能与之重名
+     */
+    public static final Set<String> RESERVED_NAMES = Set.of("fields", "sort", "asc", "limit");
 
     @Override
     public void generate(EntityMetadata metadata, CodeGenConfig config) throws IOException {
+        EntitySymbols symbols = metadata.getSymbols();
+        ClassName queryType = symbols.getQueryType();
+        ClassName fieldEnumType = queryType.nestedClass(FIELD_ENUM);
+        ParameterizedTypeName fieldSetType = ParameterizedTypeName.get(ClassName.get(Set.class), fieldEnumType);
+
+        TypeSpec.Builder queryBuilder = TypeSpec.classBuilder(queryType)
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Data.class)
+                .addJavadoc(metadata.getClassJavadoc() + "\nQuery conditions for " + metadata.getClassName() + "\n");
+
+        // 重名会生成重复的字段声明和访问器，生成的代码无法编译
+        for (String fieldName : symbols.getFieldTypes().keySet()) {
+            if (RESERVED_NAMES.contains(fieldName)) {
+                throw new IllegalArgumentException("Field " + fieldName + " in " + metadata.getClassName()
+                        + " conflicts with a " + queryType.simpleName() + " property, rename the field");
+            }
+        }
+
+        // 过滤条件：每个实体字段一个等值属性，为空表示不过滤；再按字段类型派生范围、IN 和前缀条件
+        // 逻辑删除字段由 Service 固定过滤，不作为查询条件
+        for (Map.Entry<String, TypeName> field : symbols.getFieldTypes().entrySet()) {
+            String fieldName = field.getKey();
+            if (fieldName.equals(symbols.getLogicDeleteField())) {
+                continue;
+            }
+            TypeName fieldType = field.getValue().box();
+            queryBuilder.addField(FieldSpec.builder(fieldType, fieldName, Modifier.PRIVATE).build());
+            if (TemplateUtils.isRangeType(fieldType)) {
+                queryBuilder.addField(FieldSpec.builder(fieldType, fieldName + MIN_SUFFIX, Modifier.PRIVATE)
+                        .addJavadoc("Inclusive lower bound of " + fieldName + ".\n")
+                        .build());
+                queryBuilder.addField(FieldSpec.builder(fieldType, fieldName + MAX_SUFFIX, Modifier.PRIVATE)
+                        .addJavadoc("Inclusive upper bound of " + fieldName + ".\n")
+                        .build());
+            }
+            if (isInField(symbols, fieldName)) {
+                queryBuilder.addField(FieldSpec.builder(ParameterizedTypeName.get(ClassName.get(List.class), fieldType),
+                                fieldName + IN_SUFFIX, Modifier.PRIVATE)
+                        .addJavadoc("Matches any of the given " + fieldName + " values.\n")
+                        .build());
+            }
+            if (TemplateUtils.isStringType(fieldType)) {
+                queryBuilder.addField(FieldSpec.builder(fieldType, fieldName + STARTS_WITH_SUFFIX, Modifier.PRIVATE)
+                        .addJavadoc("Prefix of " + fieldName + ", matched with an index-friendly LIKE 'prefix%'.\n")
+                        .build());
+            }
+        }
+
+        // 列投影
+        queryBuilder.addField(FieldSpec.builder(fieldSetType, "fields", Modifier.PRIVATE)
+                .addJavadoc("Fields to select, all fields when empty. The ID is always selected.\n")
+                .build());
+        queryBuilder.addType(createFieldEnum(symbols));
+        
+        // 排序与条数限制，由 Service 实现下推到 SQL
+        queryBuilder.addField(FieldSpec.builder(fieldEnumType, "sort", Modifier.PRIVATE)
+                .addJavadoc("Field to order by, unordered when null.\n")
+                .build());
+        queryBuilder.addField(FieldSpec.builder(Boolean.class, "asc", Modifier.PRIVATE)
+                .addJavadoc("Ascending order unless false.\n")
+                .build());
+        queryBuilder.addField(FieldSpec.builder(Integer.class, "limit", Modifier.PRIVATE)
+                .addJavadoc("Maximum number of rows returned by list queries.\n")
+                .build());
+        queryBuilder.addMethod(MethodSpec.methodBuilder("hasSelection")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.BOOLEAN)
+                .addStatement("return fields != null && !fields.isEmpty()")
+                .addJavadoc("Whether a column projection was requested.\n")
+                .build());
+        queryBuilder.addMethod(MethodSpec.methodBuilder("selectColumns")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(ArrayTypeName.of(QueryColumn.class))
+                .addStatement("$T selected = $T.of($T.$L)", fieldSetType, EnumSet.class, fieldEnumType, enumConstant(symbols.getIdFieldName()))
+                .beginControlFlow("if (fields != null)")
+                .addStatement("selected.addAll(fields)")
+                .endControlFlow()
+                .addStatement("$T[] columns = new $T[selected.size()]", QueryColumn.class, QueryColumn.class)
+                .addStatement("int i = 0")
+                .beginControlFlow("for ($T field : selected)", fieldEnumType)
+                .addStatement("columns[i++] = new $T(field.column())", QueryColumn.class)
+                .endControlFlow()
+                .addStatement("return columns")
+                .addJavadoc("Returns the selected columns, including the ID column, in declaration order.\n")
+                .build());
+
+        JavaFile javaFile = JavaFile.builder(queryType.packageName(), queryBuilder.build())
+                .build();
+
+        config.getOutputSink().write(javaFile);
+    }
+
+    private TypeSpec createFieldEnum(EntitySymbols symbols) {
+        TypeSpec.Builder enumBuilder = TypeSpec.enumBuilder(FIELD_ENUM)
+                .addModifiers(Modifier.PUBLIC)
+                .addJavadoc("Selectable fields and their columns.\n");
+        for (Map.Entry<String, String> column : symbols.getColumnNames().entrySet()) {
+            enumBuilder.addEnumConstant(enumConstant(column.getKey()),
+                    TypeSpec.anonymousClassBuilder("$S", column.getValue()).build());
+        }
+        return enumBuilder
+                .addField(String.class, "column", Modifier.PRIVATE, Modifier.FINAL)
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addParameter(String.class, "column")
+                        .addStatement("this.column = column")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("column")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(String.class)
+                        .addStatement("return column")
+                        .build())
+                .build();
+    }
+
+    /**
+     * 是否生成 IN 条件：ID 字段以及以 Id 结尾的关联字段
+     */
+    static boolean isInField(EntitySymbols symbols, String fieldName) {
+        return fieldName.equals(symbols.getIdFieldName()) || fieldName.endsWith("Id");
+    }
 
+    /**
+     * 字段名对应的枚举常量名，如 userName 对应 USER_NAME
+     */
+    static String enumConstant(String fieldName) {
+        return TemplateUtils.toFieldName(fieldName).toUpperCase();
     }
 
     @Override
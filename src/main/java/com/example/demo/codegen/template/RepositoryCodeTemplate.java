@@ -3,6 +3,7 @@ package com.example.demo.codegen.template;
 import com.example.demo.codegen.config.CodeGenConfig;
 import com.example.demo.codegen.core.CodeTemplate;
 import com.example.demo.codegen.core.EntityMetadata;
+import com.example.demo.codegen.core.EntitySymbols;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeSpec;
@@ -18,20 +19,21 @@ public class RepositoryCodeTemplate implements CodeTemplate {
 
     @Override
     public void generate(EntityMetadata metadata, CodeGenConfig config) throws IOException {
-        ClassName entityType = ClassName.get(metadata.getPackageName(), metadata.getClassName());
+        EntitySymbols symbols = metadata.getSymbols();
         ClassName baseRepositoryType = ClassName.get("org.springframework.data.jpa.repository", "JpaRepository");
-        ParameterizedTypeName repositoryInterface = ParameterizedTypeName.get(baseRepositoryType, entityType, ClassName.get(Long.class));
+        ParameterizedTypeName repositoryInterface = ParameterizedTypeName.get(baseRepositoryType,
+                symbols.getEntityType(), symbols.getIdType().box());
 
-        TypeSpec repositorySpec = TypeSpec.interfaceBuilder(metadata.getClassName() + "Repository")
+        TypeSpec repositorySpec = TypeSpec.interfaceBuilder(symbols.getRepositoryType())
                 .addModifiers(Modifier.PUBLIC)
                 .addSuperinterface(repositoryInterface)
                 .addJavadoc(metadata.getClassJavadoc() + " Repository接口\n")
                 .build();
 
-        JavaFile javaFile = JavaFile.builder(config.getFullPackage("repository"), repositorySpec)
+        JavaFile javaFile = JavaFile.builder(symbols.getRepositoryType().packageName(), repositorySpec)
                 .build();
 
-        javaFile.writeTo(config.getOutputDir());
+        config.getOutputSink().write(javaFile);
     }
 
     @Override
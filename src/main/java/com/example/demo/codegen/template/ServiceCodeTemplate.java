@@ -4,26 +4,41 @@ package com.example.demo.codegen.template;
 import com.example.demo.codegen.config.CodeGenConfig;
 import com.example.demo.codegen.core.CodeTemplate;
 import com.example.demo.codegen.core.EntityMetadata;
+import com.example.demo.codegen.core.EntitySymbols;
 import com.example.demo.codegen.core.TemplateUtils;
-import com.mybatisflex.core.paginate.Page;
+import com.mybatisflex.core.query.QueryColumn;
+import com.mybatisflex.core.query.QueryWrapper;
+import com.mybatisflex.core.row.Db;
+import com.mybatisflex.core.update.UpdateChain;
 import com.squareup.javapoet.*;
 
 import javax.lang.model.element.Modifier;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
 
 public class ServiceCodeTemplate implements CodeTemplate {
 
+    /**
+     * 游标分页结果类型，作为嵌套类生成在 Service 接口中
+     */
+    public static final String SEEK_PAGE = "SeekPage";
 
     @Override
     public void generate(EntityMetadata metadata, CodeGenConfig config) throws IOException {
         String entityName = metadata.getClassName();
-        String packageName = metadata.getBasePackage();
+        EntitySymbols symbols = metadata.getSymbols();
 
-        TypeName entityType = ClassName.get(packageName + ".dal.entity", entityName);
-        TypeName idTypeName = TemplateUtils.resolveTypeName(metadata.getIdType());
-        ClassName queryType = ClassName.get(packageName + ".dto", entityName + "Query");
-        ClassName pageType = ClassName.get(Page.class);
+        TypeName entityType = symbols.getEntityType();
+        TypeName idTypeName = symbols.getIdType();
+        ClassName queryType = symbols.getQueryType();
+        ClassName pageType = symbols.getPageType();
         ParameterizedTypeName listType = ParameterizedTypeName.get(ClassName.get(List.class), entityType);
 
         MethodSpec selectById = MethodSpec.methodBuilder("selectById")
@@ -54,37 +69,407 @@ public class ServiceCodeTemplate implements CodeTemplate {
                 .addJavadoc("Deletes a " + entityName + " by ID.\n@param id the ID of the " + entityName + " to delete\n")
                 .build();
 
+        String excludingDeleted = symbols.hasLogicDelete() ? ", excluding deleted records" : "";
+
         MethodSpec selectList = MethodSpec.methodBuilder("selectList")
-                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
                 .returns(listType)
                 .addParameter(queryType, "query")
-                .addJavadoc("Queries a list of " + entityName + " based on conditions, excluding deleted records.\n@param query the query conditions\n@return the list of " + entityName + " entities\n")
+                .addStatement("return getMapper().selectListByQuery(buildQueryWrapper(query))")
+                .addJavadoc("Queries a list of " + entityName + " based on conditions" + excludingDeleted + ".\n@param query the query conditions\n@return the list of " + entityName + " entities\n")
                 .build();
 
         MethodSpec selectPage = MethodSpec.methodBuilder("selectPage")
-                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
                 .returns(ParameterizedTypeName.get(pageType, entityType))
                 .addParameter(TypeName.INT, "pageNumber")
                 .addParameter(TypeName.INT, "pageSize")
                 .addParameter(queryType, "query")
-                .addJavadoc("Queries a paginated list of " + entityName + " based on conditions, excluding deleted records.\n@param pageNumber the page number\n@param pageSize the page size\n@param query the query conditions\n@return the paginated list of " + entityName + " entities\n")
+                .addStatement("return selectPage(pageNumber, pageSize, query, true)")
+                .addJavadoc("Queries a paginated list of " + entityName + " based on conditions" + excludingDeleted + ".\n@param pageNumber the page number\n@param pageSize the page size\n@param query the query conditions\n@return the paginated list of " + entityName + " entities\n")
+                .build();
+
+        // 不需要总数时跳过 COUNT 查询，只按 LIMIT/OFFSET 查询当前页
+        MethodSpec selectPageWithTotal = MethodSpec.methodBuilder("selectPage")
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .returns(ParameterizedTypeName.get(pageType, entityType))
+                .addParameter(TypeName.INT, "pageNumber")
+                .addParameter(TypeName.INT, "pageSize")
+                .addParameter(queryType, "query")
+                .addParameter(TypeName.BOOLEAN, "withTotal")
+                .addStatement("$T wrapper = buildQueryWrapper(query)", QueryWrapper.class)
+                .beginControlFlow("if (withTotal)")
+                .addStatement("return getMapper().paginate(pageNumber, pageSize, wrapper)")
+                .endControlFlow()
+                .addStatement("return selectPageWithoutTotal(pageNumber, pageSize, wrapper)")
+                .addJavadoc("Queries a paginated list of " + entityName + ", optionally skipping the COUNT query.\n"
+                        + "@param pageNumber the page number\n@param pageSize the page size\n@param query the query conditions\n"
+                        + "@param withTotal whether to compute the total row count; when false the total is -1\n"
+                        + "@return the paginated list of " + entityName + " entities\n")
+                .build();
+
+        // 批量操作：基于 FlexMapper 继承的 BaseMapper 批量方法，按 BATCH_SIZE 分块执行
+        ParameterizedTypeName idCollectionType = ParameterizedTypeName.get(ClassName.get(Collection.class), idTypeName.box());
+        ParameterizedTypeName idListType = ParameterizedTypeName.get(ClassName.get(List.class), idTypeName.box());
+
+        FieldSpec batchSize = FieldSpec.builder(TypeName.INT, "BATCH_SIZE", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$L", config.getBatchSize())
+                .addJavadoc("Maximum number of rows per JDBC batch or IN list.\n")
+                .build();
+
+        MethodSpec getMapper = MethodSpec.methodBuilder("getMapper")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .returns(symbols.getMapperType())
+                .addJavadoc("Returns the MyBatis-Flex mapper backing this service.\n@return the " + entityName + " mapper\n")
+                .build();
+
+        MethodSpec insertBatch = MethodSpec.methodBuilder("insertBatch")
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .returns(TypeName.VOID)
+                .addParameter(listType, "entities")
+                .beginControlFlow("if (entities == null || entities.isEmpty())")
+                .addStatement("return")
+                .endControlFlow()
+                .addStatement("getMapper().insertBatch(entities, BATCH_SIZE)")
+                .addJavadoc("Inserts " + entityName + " entities as multi-row inserts of at most BATCH_SIZE rows.\n@param entities the " + entityName + " entities to insert\n")
+                .build();
+
+        MethodSpec.Builder updateBatchByIdBuilder = MethodSpec.methodBuilder("updateBatchById")
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .returns(TypeName.VOID)
+                .addParameter(listType, "entities")
+                .beginControlFlow("if (entities == null || entities.isEmpty())")
+                .addStatement("return")
+                .endControlFlow();
+        if (symbols.hasLogicDelete()) {
+            // 逻辑删除：删除标记不随更新修改，已删除的记录不再更新；ID 为空时条件会被忽略，必须先拒绝
+            String idGetter = TemplateUtils.getterName(symbols.getIdFieldName(), idTypeName);
+            if (!idTypeName.isPrimitive()) {
+                updateBatchByIdBuilder.beginControlFlow("for ($T entity : entities)", entityType)
+                        .beginControlFlow("if (entity.$L() == null)", idGetter)
+                        .addStatement("throw new $T($S)", IllegalArgumentException.class, entityName + " ID must not be null")
+                        .endControlFlow()
+                        .endControlFlow();
+            }
+            CodeBlock update = CodeBlock.of("batchMapper.updateByQuery(entity, $T.create()\n.where(new $T($S).eq(entity.$L()))\n.and(new $T($S).eq($L)))",
+                    QueryWrapper.class, QueryColumn.class, symbols.getIdColumnName(), idGetter,
+                    QueryColumn.class, symbols.columnName(symbols.getLogicDeleteField()), symbols.logicDeleteValue(false));
+            updateBatchByIdBuilder.addCode("$T.executeBatch(entities, BATCH_SIZE, $T.class, (batchMapper, entity) -> {\n$>", Db.class, symbols.getMapperType())
+                    .addCode(ServiceImplCodeTemplate.updateExcludingLogicDelete(symbols, entityName, update))
+                    .addCode("$<});\n")
+                    .addJavadoc("Updates " + entityName + " entities by ID as JDBC batches of at most BATCH_SIZE statements.\n"
+                            + "Deleted records are skipped and the deleted flag is left unchanged.\n@param entities the " + entityName + " entities to update\n");
+        } else {
+            updateBatchByIdBuilder.addStatement("$T.updateEntitiesBatch(entities, BATCH_SIZE)", Db.class)
+                    .addJavadoc("Updates " + entityName + " entities by ID as JDBC batches of at most BATCH_SIZE statements.\n@param entities the " + entityName + " entities to update\n");
+        }
+        MethodSpec updateBatchById = updateBatchByIdBuilder.build();
+
+        MethodSpec.Builder deleteBatchByIdsBuilder = MethodSpec.methodBuilder("deleteBatchByIds")
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .returns(TypeName.VOID)
+                .addParameter(idCollectionType, "ids")
+                .beginControlFlow("if (ids == null || ids.isEmpty())")
+                .addStatement("return")
+                .endControlFlow();
+        if (symbols.hasLogicDelete()) {
+            // 逻辑删除：按 BATCH_SIZE 分块更新删除标记
+            deleteBatchByIdsBuilder.addStatement("$T idList = new $T<>(ids)", idListType, ArrayList.class)
+                    .beginControlFlow("for (int from = 0; from < idList.size(); from += BATCH_SIZE)")
+                    .addStatement("$T.of(getMapper())\n.set(new $T($S), $L)\n.where(new $T($S).in(idList.subList(from, $T.min(from + BATCH_SIZE, idList.size()))))\n.update()",
+                            UpdateChain.class, QueryColumn.class, symbols.columnName(symbols.getLogicDeleteField()), symbols.logicDeleteValue(true),
+                            QueryColumn.class, symbols.getIdColumnName(), Math.class)
+                    .endControlFlow()
+                    .addJavadoc("Marks " + entityName + " entities as deleted by ID, at most BATCH_SIZE IDs per statement.\n@param ids the IDs of the " + entityName + " entities to delete\n");
+        } else {
+            deleteBatchByIdsBuilder.addStatement("getMapper().deleteBatchByIds(ids, BATCH_SIZE)")
+                    .addJavadoc("Deletes " + entityName + " entities by ID, at most BATCH_SIZE IDs per statement.\n@param ids the IDs of the " + entityName + " entities to delete\n");
+        }
+        MethodSpec deleteBatchByIds = deleteBatchByIdsBuilder.build();
+
+        // 逻辑删除时按 ID 列表查询也要排除已删除的记录
+        CodeBlock selectChunk;
+        if (symbols.hasLogicDelete()) {
+            selectChunk = CodeBlock.builder()
+                    .addStatement("$T wrapper = $T.create()\n.where(new $T($S).in(idList.subList(from, $T.min(from + BATCH_SIZE, idList.size()))))",
+                            QueryWrapper.class, QueryWrapper.class, QueryColumn.class, symbols.getIdColumnName(), Math.class)
+                    .add(logicDeletePredicate(symbols))
+                    .addStatement("result.addAll(getMapper().selectListByQuery(wrapper))")
+                    .build();
+        } else {
+            selectChunk = CodeBlock.builder()
+                    .addStatement("result.addAll(getMapper().selectListByIds(idList.subList(from, $T.min(from + BATCH_SIZE, idList.size()))))", Math.class)
+                    .build();
+        }
+
+        MethodSpec selectByIds = MethodSpec.methodBuilder("selectByIds")
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .returns(listType)
+                .addParameter(idCollectionType, "ids")
+                .beginControlFlow("if (ids == null || ids.isEmpty())")
+                .addStatement("return new $T<>()", ArrayList.class)
+                .endControlFlow()
+                .addStatement("$T idList = new $T<>(ids)", idListType, ArrayList.class)
+                .addStatement("$T result = new $T<>(idList.size())", listType, ArrayList.class)
+                .beginControlFlow("for (int from = 0; from < idList.size(); from += BATCH_SIZE)")
+                .addCode(selectChunk)
+                .endControlFlow()
+                .addStatement("return result")
+                .addJavadoc("Selects " + entityName + " entities by ID, at most BATCH_SIZE IDs per IN list.\n@param ids the IDs of the " + entityName + " entities\n@return the matching " + entityName + " entities\n")
+                .build();
+
+        // 游标分页：按 ID 列定位，无 COUNT 查询，深分页与首页开销一致
+        ClassName seekPageType = symbols.getServiceType().nestedClass(SEEK_PAGE);
+        MethodSpec buildQueryWrapper = MethodSpec.methodBuilder("buildQueryWrapper")
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .returns(QueryWrapper.class)
+                .addParameter(queryType, "query")
+                .addStatement("$T wrapper = $T.create()", QueryWrapper.class, QueryWrapper.class)
+                .addComment("列投影下推为显式列名，只查询请求的列")
+                .beginControlFlow("if (query != null && query.hasSelection())")
+                .addStatement("wrapper.select(query.selectColumns())")
+                .endControlFlow()
+                .addCode(logicDeletePredicate(symbols))
+                .addStatement("return wrapper")
+                .addJavadoc("Builds the query wrapper for the given conditions, selecting only the requested columns.\n"
+                        + "Implementations add their own predicates.\n@param query the query conditions\n@return the query wrapper\n")
                 .build();
 
-        TypeSpec service = TypeSpec.interfaceBuilder(entityName + "Service")
+        TypeSpec.Builder serviceBuilder = TypeSpec.interfaceBuilder(symbols.getServiceType())
                 .addModifiers(Modifier.PUBLIC)
                 .addJavadoc("Service interface for " + entityName + "\n")
+                .addField(batchSize)
+                .addMethod(getMapper)
                 .addMethod(selectById)
                 .addMethod(insert)
                 .addMethod(updateById)
                 .addMethod(deleteById)
                 .addMethod(selectList)
                 .addMethod(selectPage)
+                .addMethod(selectPageWithTotal)
+                .addMethod(createSelectPageWithoutTotalMethod(symbols))
+                .addMethod(insertBatch)
+                .addMethod(updateBatchById)
+                .addMethod(deleteBatchByIds)
+                .addMethod(selectByIds)
+                .addMethod(buildQueryWrapper)
+                .addMethod(createSelectAfterMethod(symbols, seekPageType, entityName))
+                .addMethod(createEncodeCursorMethod(symbols))
+                .addMethod(createDecodeCursorMethod(symbols))
+                .addType(createSeekPageType(seekPageType));
+
+        if (config.isDirtyTracking()) {
+            serviceBuilder.addMethod(MethodSpec.methodBuilder("updateFieldsById")
+                    .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                    .returns(TypeName.VOID)
+                    .addParameter(entityType, "entity")
+                    .addParameter(ParameterizedTypeName.get(Collection.class, String.class), "fields")
+                    .addJavadoc("Updates only the columns of the given fields of a " + entityName + " by ID, including fields set to null.\n"
+                            + "@param entity the " + entityName + " holding the ID and the new values\n"
+                            + "@param fields the names of the fields to update, such as the DTO's dirty fields\n")
+                    .build());
+        }
+
+        // 索引查找方法，IN 查询按 BATCH_SIZE 分块
+        for (Map.Entry<String, Boolean> finder : symbols.getFinderFields().entrySet()) {
+            addFinderMethods(serviceBuilder, symbols, finder.getKey(), finder.getValue());
+        }
+        TypeSpec service = serviceBuilder.build();
+
+        JavaFile javaFile = JavaFile.builder(symbols.getServiceType().packageName(), service)
+                .build();
+
+        config.getOutputSink().write(javaFile);
+    }
+
+    private void addFinderMethods(TypeSpec.Builder serviceBuilder, EntitySymbols symbols, String fieldName, boolean unique) {
+        TypeName entityType = symbols.getEntityType();
+        TypeName fieldType = symbols.fieldType(fieldName).box();
+        ParameterizedTypeName listType = ParameterizedTypeName.get(ClassName.get(List.class), entityType);
+        ParameterizedTypeName valueListType = ParameterizedTypeName.get(ClassName.get(List.class), fieldType);
+        String finder = MapperCodeTemplate.finderName(fieldName);
+
+        serviceBuilder.addMethod(MethodSpec.methodBuilder(finder)
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .returns(unique ? entityType : listType)
+                .addParameter(fieldType, fieldName)
+                .addStatement("return getMapper().$L($L)", finder, fieldName)
+                .addJavadoc("Selects by the indexed field " + fieldName + ".\n@param " + fieldName + " the value to match\n"
+                        + (unique ? "@return the matching entity, or null\n" : "@return the matching entities\n"))
+                .build());
+        serviceBuilder.addMethod(MethodSpec.methodBuilder(finder + "In")
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .returns(listType)
+                .addParameter(ParameterizedTypeName.get(ClassName.get(Collection.class), fieldType), "values")
+                .beginControlFlow("if (values == null || values.isEmpty())")
+                .addStatement("return new $T<>()", ArrayList.class)
+                .endControlFlow()
+                .addStatement("$T valueList = new $T<>(values)", valueListType, ArrayList.class)
+                .addStatement("$T result = new $T<>(valueList.size())", listType, ArrayList.class)
+                .beginControlFlow("for (int from = 0; from < valueList.size(); from += BATCH_SIZE)")
+                .addStatement("result.addAll(getMapper().$LIn(valueList.subList(from, $T.min(from + BATCH_SIZE, valueList.size()))))", finder, Math.class)
+                .endControlFlow()
+                .addStatement("return result")
+                .addJavadoc("Selects by any of the values of the indexed field " + fieldName + ", at most BATCH_SIZE values per IN list.\n"
+                        + "@param values the values to match\n@return the matching entities\n")
+                .build());
+    }
+
+    /**
+     * 逻辑删除实体的查询条件只返回未删除的记录，没有逻辑删除字段时为空
+     */
+    private static CodeBlock logicDeletePredicate(EntitySymbols symbols) {
+        if (!symbols.hasLogicDelete()) {
+            return CodeBlock.of("");
+        }
+        return CodeBlock.builder()
+                .addStatement("wrapper.and(new $T($S).eq($L))", QueryColumn.class,
+                        symbols.columnName(symbols.getLogicDeleteField()), symbols.logicDeleteValue(false))
+                .build();
+    }
+
+    /**
+     * 只查询当前页数据，总数保持为 -1
+     */
+    private MethodSpec createSelectPageWithoutTotalMethod(EntitySymbols symbols) {
+        ParameterizedTypeName pageType = ParameterizedTypeName.get(symbols.getPageType(), symbols.getEntityType());
+        return MethodSpec.methodBuilder("selectPageWithoutTotal")
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .returns(pageType)
+                .addParameter(TypeName.INT, "pageNumber")
+                .addParameter(TypeName.INT, "pageSize")
+                .addParameter(QueryWrapper.class, "wrapper")
+                .addStatement("$T page = new $T<>(pageNumber, pageSize)", pageType, symbols.getPageType())
+                .addStatement("wrapper.limit((long) ($T.max(pageNumber, 1) - 1) * pageSize, pageSize)", Math.class)
+                .addStatement("page.setRecords(getMapper().selectListByQuery(wrapper))")
+                .addStatement("return page")
+                .addJavadoc("Queries one page of rows matching the wrapper without a COUNT query.\n"
+                        + "@param pageNumber the page number\n@param pageSize the page size\n@param wrapper the query wrapper\n"
+                        + "@return the page with records only, its total row count is -1\n")
+                .build();
+    }
+
+    private MethodSpec createSelectAfterMethod(EntitySymbols symbols, ClassName seekPageType, String entityName) {
+        TypeName entityType = symbols.getEntityType();
+        return MethodSpec.methodBuilder("selectAfter")
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .returns(ParameterizedTypeName.get(seekPageType, entityType))
+                .addParameter(symbols.getIdType().box(), "lastId")
+                .addParameter(TypeName.INT, "limit")
+                .addParameter(symbols.getQueryType(), "query")
+                .addStatement("int size = $T.max(1, $T.min(limit, BATCH_SIZE))", Math.class, Math.class)
+                .addStatement("$T idColumn = new $T($S)", QueryColumn.class, QueryColumn.class, symbols.getIdColumnName())
+                .addStatement("$T wrapper = buildQueryWrapper(query)", QueryWrapper.class)
+                .beginControlFlow("if (lastId != null)")
+                .addStatement("wrapper.and(idColumn.gt(lastId))")
+                .endControlFlow()
+                .addComment("多取一行用于判断是否还有下一页")
+                .addStatement("wrapper.orderBy(idColumn.asc()).limit(size + 1)")
+                .addStatement("$T records = getMapper().selectListByQuery(wrapper)",
+                        ParameterizedTypeName.get(ClassName.get(List.class), entityType))
+                .beginControlFlow("if (records.size() <= size)")
+                .addStatement("return new $T<>(records, null)", seekPageType)
+                .endControlFlow()
+                .addStatement("records = records.subList(0, size)")
+                .addStatement("return new $T<>(records, encodeCursor(records.get(size - 1).$L()))",
+                        seekPageType, TemplateUtils.getterName(symbols.getIdFieldName(), symbols.getIdType()))
+                .addJavadoc("Selects the next " + entityName + " rows after the given ID, ordered by ID, without a count query.\n"
+                        + "@param lastId the last ID of the previous page, or null for the first page\n"
+                        + "@param limit the maximum number of rows, capped at BATCH_SIZE\n"
+                        + "@param query the query conditions\n"
+                        + "@return the rows and the cursor of the next page\n")
+                .build();
+    }
+
+    private MethodSpec createEncodeCursorMethod(EntitySymbols symbols) {
+        return MethodSpec.methodBuilder("encodeCursor")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(String.class)
+                .addParameter(symbols.getIdType().box(), "id")
+                .addStatement("return $T.getUrlEncoder().withoutPadding().encodeToString($T.valueOf(id).getBytes($T.UTF_8))",
+                        Base64.class, String.class, StandardCharsets.class)
+                .addJavadoc("Encodes an ID as an opaque cursor token.\n@param id the last ID of a page\n@return the cursor token\n")
                 .build();
+    }
 
-        JavaFile javaFile = JavaFile.builder(packageName + ".service", service)
+    private MethodSpec createDecodeCursorMethod(EntitySymbols symbols) {
+        TypeName idType = symbols.getIdType().box();
+        return MethodSpec.methodBuilder("decodeCursor")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(idType)
+                .addParameter(String.class, "cursor")
+                .beginControlFlow("if (cursor == null || cursor.isEmpty())")
+                .addStatement("return null")
+                .endControlFlow()
+                .beginControlFlow("try")
+                .addStatement("String value = new String($T.getUrlDecoder().decode(cursor), $T.UTF_8)", Base64.class, StandardCharsets.class)
+                .addStatement("return $L", parseIdExpression(idType, "value"))
+                .nextControlFlow("catch ($T e)", IllegalArgumentException.class)
+                .addStatement("throw new $T($S + cursor, e)", IllegalArgumentException.class, "Invalid cursor: ")
+                .endControlFlow()
+                .addJavadoc("Decodes a cursor token produced by encodeCursor.\n@param cursor the cursor token, may be null\n@return the last ID of the previous page, or null\n")
                 .build();
+    }
 
-        javaFile.writeTo(config.getOutputDir());
+    /**
+     * 将字符串解析为ID类型的表达式
+     */
+    private static CodeBlock parseIdExpression(TypeName idType, String variable) {
+        if (idType.equals(ClassName.get(String.class))) {
+            return CodeBlock.of("$L", variable);
+        }
+        if (idType.equals(ClassName.get(UUID.class))) {
+            return CodeBlock.of("$T.fromString($L)", UUID.class, variable);
+        }
+        return CodeBlock.of("$T.valueOf($L)", idType, variable);
+    }
+
+    private TypeSpec createSeekPageType(ClassName seekPageType) {
+        TypeVariableName t = TypeVariableName.get("T");
+        TypeVariableName r = TypeVariableName.get("R");
+        ParameterizedTypeName recordsType = ParameterizedTypeName.get(ClassName.get(List.class), t);
+        return TypeSpec.classBuilder(seekPageType)
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .addTypeVariable(t)
+                .addJavadoc("A page of rows located by cursor. nextCursor is null on the last page.\n")
+                .addField(recordsType, "records", Modifier.PRIVATE, Modifier.FINAL)
+                .addField(String.class, "nextCursor", Modifier.PRIVATE, Modifier.FINAL)
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(recordsType, "records")
+                        .addParameter(String.class, "nextCursor")
+                        .addStatement("this.records = records")
+                        .addStatement("this.nextCursor = nextCursor")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("getRecords")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(recordsType)
+                        .addStatement("return records")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("getNextCursor")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(String.class)
+                        .addStatement("return nextCursor")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("isHasMore")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(TypeName.BOOLEAN)
+                        .addStatement("return nextCursor != null")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("map")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addTypeVariable(r)
+                        .returns(ParameterizedTypeName.get(seekPageType, r))
+                        .addParameter(ParameterizedTypeName.get(ClassName.get(Function.class),
+                                WildcardTypeName.supertypeOf(t), WildcardTypeName.subtypeOf(r)), "mapper")
+                        .addStatement("$T mapped = new $T<>(records.size())",
+                                ParameterizedTypeName.get(ClassName.get(List.class), r), ArrayList.class)
+                        .beginControlFlow("for ($T record : records)", t)
+                        .addStatement("mapped.add(mapper.apply(record))")
+                        .endControlFlow()
+                        .addStatement("return new $T<>(mapped, nextCursor)", seekPageType)
+                        .build())
+                .build();
     }
 
     @Override
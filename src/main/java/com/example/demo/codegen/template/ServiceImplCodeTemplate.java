@@ -3,103 +3,377 @@ package com.example.demo.codegen.template;
 import com.example.demo.codegen.config.CodeGenConfig;
 import com.example.demo.codegen.core.CodeTemplate;
 import com.example.demo.codegen.core.EntityMetadata;
+import com.example.demo.codegen.core.EntitySymbols;
 import com.example.demo.codegen.core.TemplateUtils;
-import com.mybatisflex.core.paginate.Page;
+import com.mybatisflex.core.query.QueryColumn;
+import com.mybatisflex.core.query.QueryWrapper;
+import com.mybatisflex.core.update.UpdateChain;
 import com.squareup.javapoet.*;
+import org.springframework.stereotype.Service;
 
 import javax.lang.model.element.Modifier;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Service接口代码模板
+ * Service实现代码模板
+ * 注入 FlexMapper 实现按ID的增删改查，并将 Query 中已填写的条件、排序和条数限制全部下推到 SQL，分页总数按条件短时缓存
  */
 public class ServiceImplCodeTemplate implements CodeTemplate {
-    
+
     @Override
     public void generate(EntityMetadata metadata, CodeGenConfig config) throws IOException {
-        TypeName entityType = ClassName.get(metadata.getPackageName(), metadata.getClassName());
-        TypeName idTypeName = TemplateUtils.resolveTypeName(metadata.getIdType());
-        ClassName queryType = ClassName.get(config.getFullPackage("dto"), metadata.getClassName() + "Query");
-        ClassName pageType = ClassName.get(Page.class);
+        String entityName = metadata.getClassName();
+        EntitySymbols symbols = metadata.getSymbols();
+        TypeName entityType = symbols.getEntityType();
+        TypeName idTypeName = symbols.getIdType();
+        ClassName queryType = symbols.getQueryType();
+        ClassName mapperType = symbols.getMapperType();
         ParameterizedTypeName listType = ParameterizedTypeName.get(ClassName.get(List.class), entityType);
-        
-        TypeSpec.Builder serviceBuilder = TypeSpec.interfaceBuilder(metadata.getClassName() + "Service")
+
+        TypeSpec.Builder serviceBuilder = TypeSpec.classBuilder(symbols.getServiceImplType())
+                .addModifiers(Modifier.PUBLIC)
+                .addSuperinterface(symbols.getServiceType())
+                .addAnnotation(Service.class)
+                .addJavadoc(metadata.getClassJavadoc() + "\nService implementation for " + entityName + "\n");
+
+        // 列常量，避免每次查询重复创建
+        for (Map.Entry<String, String> column : symbols.getColumnNames().entrySet()) {
+            serviceBuilder.addField(FieldSpec.builder(QueryColumn.class, columnConstant(column.getKey()),
+                            Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                    .initializer("new $T($S)", QueryColumn.class, column.getValue())
+                    .build());
+        }
+
+        serviceBuilder.addField(mapperType, "mapper", Modifier.PRIVATE, Modifier.FINAL);
+        serviceBuilder.addMethod(MethodSpec.constructorBuilder()
                 .addModifiers(Modifier.PUBLIC)
-                .addJavadoc(metadata.getClassJavadoc() + "\nService interface for " + metadata.getClassName() + "\n");
-        
+                .addParameter(mapperType, "mapper")
+                .addStatement("this.mapper = mapper")
+                .build());
+
         // 基础CRUD方法
-        serviceBuilder.addMethod(createSelectByIdMethod(entityType, idTypeName, metadata.getClassName()));
-        serviceBuilder.addMethod(createInsertMethod(entityType, metadata.getClassName()));
-        serviceBuilder.addMethod(createUpdateByIdMethod(entityType, metadata.getClassName()));
-        serviceBuilder.addMethod(createDeleteByIdMethod(idTypeName, metadata.getClassName()));
-        serviceBuilder.addMethod(createSelectListMethod(listType, queryType, metadata.getClassName()));
-        serviceBuilder.addMethod(createSelectPageMethod(pageType, entityType, queryType, metadata.getClassName()));
-        
-        JavaFile javaFile = JavaFile.builder(config.getFullPackage("service"), serviceBuilder.build())
-                .build();
-        
-        javaFile.writeTo(config.getOutputDir());
-    }
-    
-    private MethodSpec createSelectByIdMethod(TypeName entityType, TypeName idTypeName, String entityName) {
-        return MethodSpec.methodBuilder("selectById")
-                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
-                .returns(entityType)
-                .addParameter(idTypeName, "id")
-                .addJavadoc("根据ID查询$L\n@param id $L的ID\n@return $L实体\n", entityName, entityName, entityName)
-                .build();
-    }
-    
-    private MethodSpec createInsertMethod(TypeName entityType, String entityName) {
-        return MethodSpec.methodBuilder("insert")
-                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
-                .returns(TypeName.VOID)
+        serviceBuilder.addMethod(override("getMapper", mapperType)
+                .addStatement("return mapper")
+                .build());
+        MethodSpec.Builder selectById = override("selectById", entityType)
+                .addParameter(idTypeName, "id");
+        MethodSpec.Builder updateById = override("updateById", TypeName.VOID)
+                .addParameter(entityType, "entity");
+        MethodSpec.Builder deleteById = override("deleteById", TypeName.VOID)
+                .addParameter(idTypeName, "id");
+        if (symbols.hasLogicDelete()) {
+            // 逻辑删除：按ID查询排除已删除记录，删除只更新删除标记；更新不修改删除标记，也不更新已删除的记录
+            String idColumn = columnConstant(symbols.getIdFieldName());
+            String deletedColumn = columnConstant(symbols.getLogicDeleteField());
+            selectById.addStatement("return mapper.selectOneByQuery($T.create().where($L.eq(id)).and($L.eq($L)))",
+                    QueryWrapper.class, idColumn, deletedColumn, symbols.logicDeleteValue(false));
+            addIdCheck(updateById, symbols, entityName);
+            updateById.addCode(updateExcludingLogicDelete(symbols, entityName,
+                    CodeBlock.of("mapper.updateByQuery(entity, $T.create().where($L.eq(entity.$L())).and($L.eq($L)))",
+                            QueryWrapper.class, idColumn, TemplateUtils.getterName(symbols.getIdFieldName(), idTypeName),
+                            deletedColumn, symbols.logicDeleteValue(false))));
+            deleteById.addStatement("$T.of(mapper).set($L, $L).where($L.eq(id)).update()",
+                    UpdateChain.class, deletedColumn, symbols.logicDeleteValue(true), idColumn);
+        } else {
+            selectById.addStatement("return mapper.selectOneById(id)");
+            updateById.addStatement("mapper.update(entity)");
+            deleteById.addStatement("mapper.deleteById(id)");
+        }
+        serviceBuilder.addMethod(selectById.build());
+        serviceBuilder.addMethod(override("insert", TypeName.VOID)
                 .addParameter(entityType, "entity")
-                .addJavadoc("新增$L\n@param entity 要新增的$L\n", entityName, entityName)
-                .build();
-    }
-    
-    private MethodSpec createUpdateByIdMethod(TypeName entityType, String entityName) {
-        return MethodSpec.methodBuilder("updateById")
-                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addStatement("mapper.insert(entity)")
+                .build());
+        serviceBuilder.addMethod(updateById.build());
+        if (config.isDirtyTracking()) {
+            serviceBuilder.addMethod(createUpdateFieldsByIdMethod(symbols, entityName));
+        }
+        serviceBuilder.addMethod(deleteById.build());
+
+        // 条件查询
+        serviceBuilder.addMethod(createBuildQueryWrapperMethod(symbols));
+        serviceBuilder.addMethod(createEscapeLikeMethod());
+        serviceBuilder.addMethod(override("selectList", listType)
+                .addParameter(queryType, "query")
+                .addStatement("$T wrapper = buildQueryWrapper(query)", QueryWrapper.class)
+                .addStatement("applyOrder(wrapper, query)")
+                .beginControlFlow("if (query != null && query.getLimit() != null)")
+                .addStatement("wrapper.limit(query.getLimit())")
+                .endControlFlow()
+                .addStatement("return mapper.selectListByQuery(wrapper)")
+                .build());
+        addSelectPage(serviceBuilder, symbols, config.getPageCountCacheSeconds());
+        serviceBuilder.addMethod(MethodSpec.methodBuilder("applyOrder")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
                 .returns(TypeName.VOID)
-                .addParameter(entityType, "entity")
-                .addJavadoc("根据ID更新$L\n@param entity 要更新的$L\n", entityName, entityName)
+                .addParameter(QueryWrapper.class, "wrapper")
+                .addParameter(queryType, "query")
+                .beginControlFlow("if (query == null || query.getSort() == null)")
+                .addStatement("return")
+                .endControlFlow()
+                .addStatement("$T column = new $T(query.getSort().column())", QueryColumn.class, QueryColumn.class)
+                .addStatement("wrapper.orderBy($T.FALSE.equals(query.getAsc()) ? column.desc() : column.asc())", Boolean.class)
+                .build());
+
+        JavaFile javaFile = JavaFile.builder(symbols.getServiceImplType().packageName(), serviceBuilder.build())
                 .build();
+
+        config.getOutputSink().write(javaFile);
     }
-    
-    private MethodSpec createDeleteByIdMethod(TypeName idTypeName, String entityName) {
-        return MethodSpec.methodBuilder("deleteById")
-                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+
+    /**
+     * 分页查询：withTotal 为 false 时不执行 COUNT；为 true 时总数按条件 SQL 缓存 ttlSeconds 秒，
+     * 命中时以已知总数调用 paginate，MyBatis-Flex 跳过 COUNT 查询
+     */
+    private void addSelectPage(TypeSpec.Builder serviceBuilder, EntitySymbols symbols, long ttlSeconds) {
+        TypeName entityType = symbols.getEntityType();
+        ParameterizedTypeName pageType = ParameterizedTypeName.get(symbols.getPageType(), entityType);
+        MethodSpec.Builder selectPage = override("selectPage", pageType)
+                .addParameter(TypeName.INT, "pageNumber")
+                .addParameter(TypeName.INT, "pageSize")
+                .addParameter(symbols.getQueryType(), "query")
+                .addParameter(TypeName.BOOLEAN, "withTotal")
+                .addStatement("$T wrapper = buildQueryWrapper(query)", QueryWrapper.class);
+        if (ttlSeconds <= 0) {
+            serviceBuilder.addMethod(selectPage
+                    .addStatement("applyOrder(wrapper, query)")
+                    .beginControlFlow("if (!withTotal)")
+                    .addStatement("return selectPageWithoutTotal(pageNumber, pageSize, wrapper)")
+                    .endControlFlow()
+                    .addStatement("return mapper.paginate(pageNumber, pageSize, wrapper)")
+                    .build());
+            return;
+        }
+
+        ClassName cachedCountType = symbols.getServiceImplType().nestedClass("CachedCount");
+        serviceBuilder.addField(FieldSpec.builder(TypeName.INT, "COUNT_CACHE_MAX_SIZE", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$L", 1024)
+                .build());
+        serviceBuilder.addField(FieldSpec.builder(TypeName.LONG, "COUNT_CACHE_TTL_NANOS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$T.SECONDS.toNanos($L)", TimeUnit.class, ttlSeconds)
+                .build());
+        serviceBuilder.addField(FieldSpec.builder(ParameterizedTypeName.get(ClassName.get(ConcurrentMap.class), ClassName.get(String.class), cachedCountType),
+                        "countCache", Modifier.PRIVATE, Modifier.FINAL)
+                .initializer("new $T<>()", ConcurrentHashMap.class)
+                .build());
+
+        // 缓存键为排序前的条件 SQL，不同排序方式的翻页共享同一个总数
+        serviceBuilder.addMethod(selectPage
+                .beginControlFlow("if (!withTotal)")
+                .addStatement("applyOrder(wrapper, query)")
+                .addStatement("return selectPageWithoutTotal(pageNumber, pageSize, wrapper)")
+                .endControlFlow()
+                .addStatement("String countKey = wrapper.toSQL()")
+                .addStatement("applyOrder(wrapper, query)")
+                .addStatement("$T cached = countCache.get(countKey)", cachedCountType)
+                .beginControlFlow("if (cached != null && cached.expiresAt - System.nanoTime() > 0)")
+                .addStatement("return mapper.paginate(new $T<>(pageNumber, pageSize, cached.total), wrapper)", symbols.getPageType())
+                .endControlFlow()
+                .addStatement("$T page = mapper.paginate(pageNumber, pageSize, wrapper)", pageType)
+                .addStatement("cacheCount(countKey, page.getTotalRow())")
+                .addStatement("return page")
+                .build());
+        serviceBuilder.addMethod(MethodSpec.methodBuilder("cacheCount")
+                .addModifiers(Modifier.PRIVATE)
                 .returns(TypeName.VOID)
-                .addParameter(idTypeName, "id")
-                .addJavadoc("根据ID删除$L\n@param id 要删除的$L的ID\n", entityName, entityName)
+                .addParameter(String.class, "countKey")
+                .addParameter(TypeName.LONG, "total")
+                .addStatement("long now = System.nanoTime()")
+                .beginControlFlow("if (countCache.size() >= COUNT_CACHE_MAX_SIZE)")
+                .addStatement("countCache.values().removeIf(cached -> cached.expiresAt - now <= 0)")
+                .beginControlFlow("if (countCache.size() >= COUNT_CACHE_MAX_SIZE)")
+                .addStatement("countCache.clear()")
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("countCache.put(countKey, new $T(total, now + COUNT_CACHE_TTL_NANOS))", cachedCountType)
+                .build());
+        serviceBuilder.addType(TypeSpec.classBuilder(cachedCountType)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .addField(TypeName.LONG, "total", Modifier.PRIVATE, Modifier.FINAL)
+                .addField(TypeName.LONG, "expiresAt", Modifier.PRIVATE, Modifier.FINAL)
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addParameter(TypeName.LONG, "total")
+                        .addParameter(TypeName.LONG, "expiresAt")
+                        .addStatement("this.total = total")
+                        .addStatement("this.expiresAt = expiresAt")
+                        .build())
+                .build());
+    }
+
+    /**
+     * 每个已填写的查询字段转换为一个条件：等值、范围（>=、<=）、IN 和前缀 LIKE，均可使用索引
+     */
+    private MethodSpec createBuildQueryWrapperMethod(EntitySymbols symbols) {
+        MethodSpec.Builder method = override("buildQueryWrapper", ClassName.get(QueryWrapper.class))
+                .addParameter(symbols.getQueryType(), "query")
+                .addStatement("$T wrapper = $T.super.buildQueryWrapper(query)", QueryWrapper.class, symbols.getServiceType())
+                .beginControlFlow("if (query == null)")
+                .addStatement("return wrapper")
+                .endControlFlow();
+        for (Map.Entry<String, TypeName> field : symbols.getFieldTypes().entrySet()) {
+            String fieldName = field.getKey();
+            if (fieldName.equals(symbols.getLogicDeleteField())) {
+                continue;
+            }
+            String column = columnConstant(fieldName);
+            addPredicate(method, fieldName, "$L.eq(query.$L())", column);
+            if (TemplateUtils.isRangeType(field.getValue())) {
+                addPredicate(method, fieldName + QueryCodeTemplate.MIN_SUFFIX, "$L.ge(query.$L())", column);
+                addPredicate(method, fieldName + QueryCodeTemplate.MAX_SUFFIX, "$L.le(query.$L())", column);
+            }
+            if (QueryCodeTemplate.isInField(symbols, fieldName)) {
+                String getter = queryGetter(fieldName + QueryCodeTemplate.IN_SUFFIX);
+                method.beginControlFlow("if (query.$L() != null && !query.$L().isEmpty())", getter, getter)
+                        .addStatement("wrapper.and($L.in(query.$L()))", column, getter)
+                        .endControlFlow();
+            }
+            if (TemplateUtils.isStringType(field.getValue())) {
+                // 只做前缀匹配，避免前导通配符导致索引失效
+                String getter = queryGetter(fieldName + QueryCodeTemplate.STARTS_WITH_SUFFIX);
+                method.beginControlFlow("if (query.$L() != null && !query.$L().isEmpty())", getter, getter)
+                        .addStatement("wrapper.and($S, escapeLike(query.$L()) + $S)",
+                                symbols.columnName(fieldName) + " LIKE ? ESCAPE '!'", getter, "%")
+                        .endControlFlow();
+            }
+        }
+        return method.addStatement("return wrapper").build();
+    }
+
+    private static void addPredicate(MethodSpec.Builder method, String queryField, String condition, String column) {
+        String getter = queryGetter(queryField);
+        method.beginControlFlow("if (query.$L() != null)", getter)
+                .addStatement("wrapper.and(" + condition + ")", column, getter)
+                .endControlFlow();
+    }
+
+    private static String queryGetter(String queryField) {
+        return "get" + TemplateUtils.capitalize(queryField);
+    }
+
+    /**
+     * 转义 LIKE 通配符，前缀中的 % 和 _ 按字面匹配；条件中以 ESCAPE 显式声明转义符 !，
+     * 不依赖数据库默认值，也避免反斜杠在 MySQL 默认 sql_mode 下转义字符串的结束引号
+     */
+    private MethodSpec createEscapeLikeMethod() {
+        return MethodSpec.methodBuilder("escapeLike")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(String.class)
+                .addParameter(String.class, "value")
+                .addStatement("$T escaped = new $T(value.length() + 8)", StringBuilder.class, StringBuilder.class)
+                .beginControlFlow("for (int i = 0; i < value.length(); i++)")
+                .addStatement("char c = value.charAt(i)")
+                .beginControlFlow("if (c == '!' || c == '%' || c == '_')")
+                .addStatement("escaped.append('!')")
+                .endControlFlow()
+                .addStatement("escaped.append(c)")
+                .endControlFlow()
+                .addStatement("return escaped.toString()")
                 .build();
     }
-    
-    private MethodSpec createSelectListMethod(ParameterizedTypeName listType, ClassName queryType, String entityName) {
-        return MethodSpec.methodBuilder("selectList")
-                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
-                .returns(listType)
-                .addParameter(queryType, "query")
-                .addJavadoc("根据条件查询$L列表\n@param query 查询条件\n@return $L实体列表\n", entityName, entityName)
+
+    private static MethodSpec.Builder override(String name, TypeName returnType) {
+        return MethodSpec.methodBuilder(name)
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(returnType);
+    }
+
+    /**
+     * 按ID更新时删除标记不进入 SET：包装类型字段在更新期间临时置空，finally 中恢复，调用方的对象保持不变；
+     * 基本类型字段无法置空，值不是未删除时直接拒绝
+     */
+    static CodeBlock updateExcludingLogicDelete(EntitySymbols symbols, String entityName, CodeBlock update) {
+        String field = symbols.getLogicDeleteField();
+        TypeName type = symbols.fieldType(field);
+        String getter = TemplateUtils.getterName(field, type);
+        if (type.isPrimitive()) {
+            return CodeBlock.builder()
+                    .beginControlFlow("if (entity.$L() != $L)", getter, symbols.logicDeleteValue(false))
+                    .addStatement("throw new $T($S)", IllegalArgumentException.class,
+                            entityName + " " + field + " cannot be changed by update, use deleteById")
+                    .endControlFlow()
+                    .addStatement("$L", update)
+                    .build();
+        }
+        String setter = TemplateUtils.setterName(field);
+        return CodeBlock.builder()
+                .addStatement("$T $L = entity.$L()", type, field, getter)
+                .addStatement("entity.$L(null)", setter)
+                .beginControlFlow("try")
+                .addStatement("$L", update)
+                .nextControlFlow("finally")
+                .addStatement("entity.$L($L)", setter, field)
+                .endControlFlow()
                 .build();
     }
-    
-    private MethodSpec createSelectPageMethod(ClassName pageType, TypeName entityType, ClassName queryType, String entityName) {
-        return MethodSpec.methodBuilder("selectPage")
-                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
-                .returns(ParameterizedTypeName.get(pageType, entityType))
-                .addParameter(TypeName.INT, "pageNumber")
-                .addParameter(TypeName.INT, "pageSize")
-                .addParameter(queryType, "query")
-                .addJavadoc("根据条件分页查询$L\n@param pageNumber 页码\n@param pageSize 页大小\n@param query 查询条件\n@return $L分页结果\n", entityName, entityName)
+
+    /**
+     * ID 为空时拒绝更新，否则 ID 条件会被忽略而更新到其他记录
+     */
+    private static void addIdCheck(MethodSpec.Builder method, EntitySymbols symbols, String entityName) {
+        if (!symbols.getIdType().isPrimitive()) {
+            method.beginControlFlow("if (entity.$L() == null)", TemplateUtils.getterName(symbols.getIdFieldName(), symbols.getIdType()))
+                    .addStatement("throw new $T($S)", IllegalArgumentException.class, entityName + " ID must not be null")
+                    .endControlFlow();
+        }
+    }
+
+    /**
+     * 只 SET 指定字段对应的列，未知字段名直接拒绝，ID 字段和逻辑删除字段不参与更新，已删除的记录不更新
+     */
+    private MethodSpec createUpdateFieldsByIdMethod(EntitySymbols symbols, String entityName) {
+        String idField = symbols.getIdFieldName();
+        String idGetter = TemplateUtils.getterName(idField, symbols.getIdType());
+        MethodSpec.Builder method = override("updateFieldsById", TypeName.VOID)
+                .addParameter(symbols.getEntityType(), "entity")
+                .addParameter(ParameterizedTypeName.get(Collection.class, String.class), "fields");
+        addIdCheck(method, symbols, entityName);
+        CodeBlock skipped = symbols.hasLogicDelete()
+                ? CodeBlock.of("$S.equals(field) || $S.equals(field)", idField, symbols.getLogicDeleteField())
+                : CodeBlock.of("$S.equals(field)", idField);
+        method.addStatement("$T<$T> update = $T.of(mapper)", UpdateChain.class, symbols.getEntityType(), UpdateChain.class)
+                .addStatement("boolean changed = false")
+                .beginControlFlow("for (String field : fields)")
+                .beginControlFlow("if ($L)", skipped)
+                .addStatement("continue")
+                .endControlFlow()
+                .beginControlFlow("switch (field)");
+        for (Map.Entry<String, TypeName> field : symbols.getFieldTypes().entrySet()) {
+            if (field.getKey().equals(idField) || field.getKey().equals(symbols.getLogicDeleteField())) {
+                continue;
+            }
+            method.addStatement("case $S -> update.set($L, entity.$L())", field.getKey(),
+                    columnConstant(field.getKey()), TemplateUtils.getterName(field.getKey(), field.getValue()));
+        }
+        method.addStatement("default -> throw new $T($S + field)", IllegalArgumentException.class, "Unknown " + entityName + " field ")
+                .endControlFlow()
+                .addStatement("changed = true")
+                .endControlFlow()
+                .beginControlFlow("if (changed)")
+                .addStatement("update.where($L.eq(entity.$L()))", columnConstant(idField), idGetter);
+        if (symbols.hasLogicDelete()) {
+            method.addStatement("update.and($L.eq($L))", columnConstant(symbols.getLogicDeleteField()), symbols.logicDeleteValue(false));
+        }
+        return method.addStatement("update.update()")
+                .endControlFlow()
                 .build();
     }
-    
+
+    /**
+     * 字段对应的列常量名，如 userName 对应 USER_NAME
+     */
+    static String columnConstant(String fieldName) {
+        return TemplateUtils.toFieldName(fieldName).toUpperCase();
+    }
+
     @Override
     public String getTemplateName() {
-        return "serviceimpl";
+        return "serviceImpl";
     }
 }
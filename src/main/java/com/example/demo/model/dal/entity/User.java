@@ -1,5 +1,6 @@
 package com.example.demo.model.dal.entity;
 
+import com.example.demo.codegen.annotation.Index;
 import com.mybatisflex.annotation.Id;
 import com.mybatisflex.annotation.Table;
 import com.mybatisflex.annotation.Column;
@@ -10,6 +11,8 @@ import lombok.Data;
  */
 @Data
 @Table("tb_user")
+@Index(name = "uk_email_address", columns = "email_address", unique = true)
+@Index(name = "idx_user_name", columns = {"user_name", "deleted"})
 public class User {
     /**
      * 用户ID
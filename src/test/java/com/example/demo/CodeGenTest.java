@@ -2,13 +2,72 @@ package com.example.demo;
 
 import com.example.demo.codegen.config.CodeGenConfig;
 import com.example.demo.codegen.config.CodeGenConfigLoader;
+import com.example.demo.codegen.core.CompilationUnitCache;
+import com.example.demo.codegen.core.EntityMetadata;
+import com.example.demo.codegen.core.EntityParser;
+import com.example.demo.codegen.core.EntityScanner;
+import com.example.demo.codegen.core.EntitySymbols;
+import com.example.demo.codegen.core.FileSystemOutputSink;
+import com.example.demo.codegen.core.GenerationListener;
+import com.example.demo.codegen.core.InMemoryOutputSink;
+import com.example.demo.codegen.core.TemplateExecution;
+import com.example.demo.codegen.core.TemplateUtils;
+import com.example.demo.codegen.core.ZipOutputSink;
+import com.example.demo.codegen.core.EntitySource;
 import com.example.demo.model.dal.entity.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.mybatisflex.annotation.Id;
+import com.mybatisflex.annotation.KeyType;
+import com.mybatisflex.core.query.QueryColumn;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeSpec;
 import lombok.extern.slf4j.Slf4j;
+import org.h2.jdbcx.JdbcConnectionPool;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * 代码生成器测试
@@ -107,4 +166,805 @@ public class CodeGenTest {
         log.info("=== 使用默认配置生成代码 ===");
         new CodeGenerator().generate(User.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGenerateAll() {
+        log.info("=== 并行批量生成代码 ===");
+        // 生成到内存，不写入项目源码，也不写增量清单
+        InMemoryOutputSink sink = new InMemoryOutputSink();
+        CodeGenConfig config = CodeGenConfig.builder()
+                .basePackage("com.example.demo.model")
+                .outputSink(sink)
+                .parallelism(2)
+                .build();
+        CodeGenerator generator = new CodeGenerator(config);
+        generator.generateAll(List.of(User.class));
+
+        assertNotNull(sink.getContent("com/example/demo/model/service/UserService.java"));
+        // 批量生成不应修改共享配置
+        assertEquals("com.example.demo.model", generator.getConfig().getBasePackage());
+    }
+
+    @Test
+    public void testSourceCache(@TempDir Path tempDir) throws IOException {
+        log.info("=== 测试源码解析缓存 ===");
+        Path source = tempDir.resolve("Order.java");
+        Files.writeString(source, "package demo;\npublic class Order { private Long id; }\n");
+
+        CompilationUnitCache cache = new CompilationUnitCache(1);
+        CompilationUnit first = cache.get(source);
+        assertSame(first, cache.get(source));
+
+        Path other = tempDir.resolve("Item.java");
+        Files.writeString(other, "package demo;\npublic class Item { private Long id; }\n");
+        cache.get(other);
+
+        CompilationUnitCache.Stats stats = cache.stats();
+        log.info("缓存统计: {}", stats);
+        assertEquals(1, stats.getHits());
+        assertEquals(2, stats.getMisses());
+        assertEquals(1, stats.getEvictions());
+    }
+
+    @Test
+    public void testEntityScanner() throws IOException {
+        log.info("=== 测试源码扫描 ===");
+        CodeGenConfig config = CodeGenConfig.builder()
+                .basePackage("com.example.demo.model")
+                .build();
+
+        List<EntitySource> sources = new EntityScanner(config, CompilationUnitCache.shared()).scan();
+        sources.forEach(source -> log.info("发现实体: {}", source.getQualifiedName()));
+        assertTrue(sources.stream().anyMatch(source -> source.getQualifiedName().equals(User.class.getName())));
+    }
+
+    @Test
+    public void testParseFromSource() throws IOException {
+        log.info("=== 测试无需实体类的源码解析 ===");
+        CodeGenConfig config = CodeGenConfig.builder()
+                .basePackage("com.example.demo.model")
+                .build();
+
+        EntityMetadata metadata = new EntityParser(config)
+                .parse(Paths.get("src/main/java/com/example/demo/model/dal/entity/User.java"));
+        assertEquals("User", metadata.getClassName());
+        assertEquals("com.example.demo.model.dal.entity", metadata.getPackageName());
+        assertEquals("com.example.demo.model", metadata.getBasePackage());
+        assertEquals("tb_user", metadata.getTableName());
+        assertEquals("Long", metadata.getIdType());
+        assertNull(metadata.getEntityClass());
+    }
+
+    @Test
+    public void testEntitySymbols() throws IOException {
+        log.info("=== 测试实体符号表 ===");
+        CodeGenConfig config = CodeGenConfig.builder()
+                .basePackage("com.example.demo.model")
+                .build();
+
+        EntitySymbols symbols = new EntityParser(config)
+                .parse(Paths.get("src/main/java/com/example/demo/model/dal/entity/User.java"))
+                .getSymbols();
+        assertEquals(ClassName.get(User.class), symbols.getEntityType());
+        assertEquals(ClassName.get("com.example.demo.model.dto", "UserDto"), symbols.getDtoType());
+        assertEquals(ClassName.get("com.example.demo.model.query", "UserQuery"), symbols.getQueryType());
+        assertEquals(ClassName.get("com.example.demo.model.service", "UserService"), symbols.getServiceType());
+        assertEquals(ClassName.get(Long.class), symbols.getIdType());
+        assertEquals("id", symbols.getIdFieldName());
+        assertEquals(ClassName.get("java.time", "LocalDateTime"),
+                TemplateUtils.resolveTypeName("LocalDateTime", List.of(), "com.example.demo.model.dal.entity"));
+    }
+
+    @Test
+    public void testTemplateEnabledPerEntity() {
+        log.info("=== 测试按实体启用模板 ===");
+        Map<String, Boolean> templateEnabled = new HashMap<>();
+        templateEnabled.put("cache", false);
+        templateEnabled.put("cache:User", true);
+        CodeGenConfig config = CodeGenConfig.builder()
+                .basePackage("com.example.demo.model")
+                .templateEnabled(templateEnabled)
+                .build();
+
+        assertTrue(config.isTemplateEnabled("cache", "User"));
+        assertFalse(config.isTemplateEnabled("cache", "Order"));
+        assertFalse(config.isTemplateEnabled("cache"));
+    }
+
+    @Test
+    public void testOutputSinkSkipsUnchanged(@TempDir Path tempDir) throws IOException {
+        log.info("=== 测试内容未变化时跳过写入 ===");
+        JavaFile javaFile = JavaFile.builder("demo", TypeSpec.classBuilder("Sample").build()).build();
+        FileSystemOutputSink sink = new FileSystemOutputSink(tempDir);
+
+        assertTrue(sink.write(javaFile).isWritten());
+        assertFalse(sink.write(javaFile).isWritten());
+        assertEquals(javaFile.toString(), Files.readString(tempDir.resolve("demo/Sample.java")));
+        assertEquals(1, sink.getWrittenCount());
+        assertEquals(1, sink.getSkippedCount());
+    }
+
+    @Test
+    public void testIncrementalManifest(@TempDir Path tempDir) throws IOException {
+        log.info("=== 测试增量生成清单 ===");
+        Path sourceFile = tempDir.resolve("src/com/example/demo/model/dal/entity/User.java");
+        Files.createDirectories(sourceFile.getParent());
+        Files.copy(Paths.get("src/main/java/com/example/demo/model/dal/entity/User.java"), sourceFile);
+        CodeGenConfig config = CodeGenConfig.builder()
+                .basePackage("com.example.demo.model")
+                .sourceRoots(List.of(tempDir.resolve("src")))
+                .outputDir(tempDir.resolve("out"))
+                .manifestFile(tempDir.resolve("manifest.properties"))
+                .incremental(true)
+                .build();
+
+        List<TemplateExecution> first = recordExecutions(config, CodeGenerator::generateDiscovered);
+        assertFalse(first.isEmpty());
+        assertTrue(Files.exists(tempDir.resolve("manifest.properties")));
+
+        // 实体与配置均未变化，所有模板都应跳过
+        assertTrue(recordExecutions(config, CodeGenerator::generateDiscovered).isEmpty());
+
+        // 删除的生成文件需要补回，只重新执行写出它的模板
+        Path service = tempDir.resolve("out/com/example/demo/model/service/UserService.java");
+        Files.delete(service);
+        List<TemplateExecution> restored = recordExecutions(config, CodeGenerator::generateDiscovered);
+        assertEquals(List.of("service"), restored.stream().map(TemplateExecution::getTemplateName).collect(Collectors.toList()));
+        assertTrue(Files.exists(service));
+
+        Files.writeString(sourceFile, Files.readString(sourceFile) + "\n// touched\n");
+        List<TemplateExecution> touched = recordExecutions(config, CodeGenerator::generateDiscovered);
+        log.info("修改实体后重新执行模板数: {}", touched.size());
+        assertEquals(first.size(), touched.size());
+    }
+
+    /**
+     * 每次使用新的生成器执行生成，返回本次实际执行的模板
+     */
+    private static List<TemplateExecution> recordExecutions(CodeGenConfig config, Consumer<CodeGenerator> run) {
+        List<TemplateExecution> executions = new CopyOnWriteArrayList<>();
+        CodeGenerator generator = new CodeGenerator(config);
+        generator.addListener(new GenerationListener() {
+            @Override
+            public void onTemplateCompleted(TemplateExecution execution) {
+                executions.add(execution);
+            }
+        });
+        run.accept(generator);
+        return executions;
+    }
+
+    @Test
+    public void testInMemoryOutput() {
+        log.info("=== 测试输出到内存 ===");
+        InMemoryOutputSink sink = new InMemoryOutputSink();
+        CodeGenConfig config = CodeGenConfig.builder()
+                .basePackage("com.example.demo.model")
+                .outputSink(sink)
+                .build();
+
+        new CodeGenerator(config).generate(User.class);
+        sink.getFiles().keySet().forEach(path -> log.info("生成文件: {}", path));
+        assertNotNull(sink.getContent("com/example/demo/model/dto/UserDto.java"));
+    }
+
+    @Test
+    public void testZipOutput(@TempDir Path tempDir) throws IOException {
+        log.info("=== 测试输出到 zip 归档 ===");
+        Path archive = tempDir.resolve("generated-sources.zip");
+        CodeGenConfig config = CodeGenConfig.builder()
+                .basePackage("com.example.demo.model")
+                .outputSink(ZipOutputSink.toFile(archive))
+                .build();
+
+        new CodeGenerator(config).generate(User.class);
+        config.getOutputSink().close();
+
+        try (ZipFile zip = new ZipFile(archive.toFile())) {
+            ZipEntry entry = zip.getEntry("com/example/demo/model/dto/UserDto.java");
+            assertNotNull(entry);
+            String content = new String(zip.getInputStream(entry).readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(content.startsWith("package com.example.demo.model.dto;"));
+            assertTrue(content.contains("class UserDto"));
+            assertEquals(config.getOutputSink().getWrittenCount(), zip.size());
+        }
+    }
+
+    @Test
+    public void testPlainConvertor() {
+        log.info("=== 测试普通 Java 转换器 ===");
+        InMemoryOutputSink sink = generate(CodeGenConfig.builder()
+                .convertorStyle(CodeGenConfig.CONVERTOR_STYLE_PLAIN));
+
+        String convertor = sink.getContent("com/example/demo/model/mapstruct/UserConvertor.java");
+        assertNotNull(convertor);
+        assertTrue(convertor.contains("target.setUsername(dto.getUsername());"));
+        assertFalse(convertor.contains("target.setDeleted(dto.getDeleted());"));
+        assertTrue(convertor.contains("target.setDeleted(entity.getDeleted());"));
+        assertFalse(convertor.contains("org.mapstruct"));
+        assertTrue(sink.getContent("com/example/demo/model/controller/UserController.java").contains("UserConvertor convertor"));
+    }
+
+    @Test
+    public void testQueryPredicates() {
+        log.info("=== 测试范围、IN 和前缀查询条件 ===");
+        InMemoryOutputSink sink = generate(CodeGenConfig.builder());
+
+        String query = sink.getContent("com/example/demo/model/query/UserQuery.java");
+        assertNotNull(query);
+        assertTrue(query.contains("private Long idMin;"));
+        assertTrue(query.contains("private List<Long> idIn;"));
+        assertTrue(query.contains("private String usernameStartsWith;"));
+        assertFalse(query.contains("deletedMin"));
+
+        String serviceImpl = sink.getContent("com/example/demo/model/service/impl/UserServiceImpl.java");
+        assertNotNull(serviceImpl);
+        assertTrue(serviceImpl.contains("wrapper.and(ID.ge(query.getIdMin()));"));
+        assertTrue(serviceImpl.contains("wrapper.and(ID.in(query.getIdIn()));"));
+        assertTrue(serviceImpl.contains("wrapper.and(\"user_name LIKE ? ESCAPE '!'\", escapeLike(query.getUsernameStartsWith()) + \"%\");"));
+        assertTrue(serviceImpl.contains("if (c == '!' || c == '%' || c == '_') {"));
+    }
+
+    @Test
+    public void testQueryReservedFieldName() {
+        log.info("=== 测试与 Query 属性重名的实体字段 ===");
+        String content = "package com.example.demo.model.dal.entity;\n\n"
+                + "import com.mybatisflex.annotation.Id;\n"
+                + "import com.mybatisflex.annotation.Table;\n\n"
+                + "@Table(\"tb_rank\")\n"
+                + "public class Rank {\n"
+                + "    @Id\n"
+                + "    private Long id;\n"
+                + "    private Integer sort;\n"
+                + "}\n";
+        EntitySource source = entitySource("Rank", content);
+        CodeGenConfig config = CodeGenConfig.builder()
+                .basePackage("com.example.demo.model")
+                .outputSink(new InMemoryOutputSink())
+                .build();
+
+        List<TemplateExecution> executions = recordExecutions(config, generator -> generator.generateSources(List.of(source)));
+        TemplateExecution query = executions.stream()
+                .filter(execution -> execution.getTemplateName().equals("query"))
+                .findFirst().orElseThrow();
+        log.info("Query 模板执行结果: {}", query.getError());
+        assertFalse(query.isSuccess());
+        assertTrue(query.getError().contains("Field sort in Rank conflicts with a RankQuery property"));
+    }
+
+    @Test
+    public void testAsyncController() {
+        log.info("=== 测试异步 Controller ===");
+        InMemoryOutputSink sink = generate(CodeGenConfig.builder()
+                .controllerStyle(CodeGenConfig.CONTROLLER_STYLE_ASYNC));
+
+        String controller = sink.getContent("com/example/demo/model/controller/UserController.java");
+        assertNotNull(controller);
+        assertTrue(controller.contains("@Qualifier(\"applicationTaskExecutor\") Executor executor"));
+        assertTrue(controller.contains("public CompletableFuture<UserDto> getById("));
+        assertTrue(controller.contains("return CompletableFuture.runAsync(() -> service.deleteById(id), executor);"));
+        assertFalse(controller.contains("@Autowired"));
+    }
+
+    @Test
+    public void testPageCountCache() {
+        log.info("=== 测试分页总数缓存 ===");
+        InMemoryOutputSink sink = generate(CodeGenConfig.builder());
+
+        String serviceImpl = sink.getContent("com/example/demo/model/service/impl/UserServiceImpl.java");
+        assertNotNull(serviceImpl);
+        assertTrue(serviceImpl.contains("boolean withTotal"));
+        assertTrue(serviceImpl.contains("String countKey = wrapper.toSQL();"));
+        assertTrue(serviceImpl.contains("new Page<>(pageNumber, pageSize, cached.total)"));
+        assertTrue(sink.getContent("com/example/demo/model/controller/UserController.java")
+                .contains("withTotal).map(convertor::toDto)"));
+
+        InMemoryOutputSink uncached = generate(CodeGenConfig.builder().pageCountCacheSeconds(0));
+        assertFalse(uncached.getContent("com/example/demo/model/service/impl/UserServiceImpl.java").contains("countCache"));
+    }
+
+    @Test
+    public void testIndexFinders() {
+        log.info("=== 测试索引查找方法 ===");
+        InMemoryOutputSink sink = generate(CodeGenConfig.builder());
+
+        String mapper = sink.getContent("com/example/demo/model/mapper/flex/UserFlexMapper.java");
+        assertNotNull(mapper);
+        assertTrue(mapper.contains("default User selectByEmail(String email)"));
+        assertTrue(mapper.contains("default List<User> selectByUsername(String username)"));
+        assertTrue(mapper.contains("default List<User> selectByUsernameIn(Collection<String> values)"));
+        assertFalse(mapper.contains("selectByDeleted"));
+
+        String service = sink.getContent("com/example/demo/model/service/UserService.java");
+        assertTrue(service.contains("getMapper().selectByEmail(email)"));
+        assertTrue(service.contains("getMapper().selectByEmailIn(valueList.subList("));
+        assertTrue(sink.getContent("com/example/demo/model/controller/UserController.java").contains("\"/by-username/in\""));
+    }
+
+    @Test
+    public void testBatchOperations() {
+        log.info("=== 测试批量操作分块 ===");
+        InMemoryOutputSink sink = generate(CodeGenConfig.builder().batchSize(200));
+
+        String service = sink.getContent("com/example/demo/model/service/UserService.java");
+        assertNotNull(service);
+        assertTrue(service.contains("int BATCH_SIZE = 200;"));
+        assertTrue(service.contains("getMapper().insertBatch(entities, BATCH_SIZE);"));
+        // User 带逻辑删除，批量更新按ID和未删除条件逐条更新，删除标记不进入 SET
+        assertTrue(service.contains("Db.executeBatch(entities, BATCH_SIZE, UserFlexMapper.class, (batchMapper, entity) -> {"));
+        assertTrue(service.contains("Boolean deleted = entity.getDeleted();"));
+        assertTrue(service.contains("for (int from = 0; from < idList.size(); from += BATCH_SIZE) {"));
+        assertTrue(service.contains("getMapper().selectListByQuery(wrapper)"));
+        assertTrue(service.contains("idList.subList(from, Math.min(from + BATCH_SIZE, idList.size()))"));
+
+        String controller = sink.getContent("com/example/demo/model/controller/UserController.java");
+        assertTrue(controller.contains("service.insertBatch(convertor.toEntityList(dtos));"));
+        assertTrue(controller.contains("service.updateBatchById(convertor.toEntityList(dtos));"));
+        assertTrue(controller.contains("@PostMapping(\"/batch/delete\")"));
+        assertTrue(controller.contains("return convertor.toDtoList(service.selectByIds(ids));"));
+        assertTrue(sink.getContent("com/example/demo/model/mapstruct/UserMapStructMapper.java")
+                .contains("List<User> toEntityList(List<UserDto> dtos);"));
+    }
+
+    @Test
+    public void testSeekCursor(@TempDir Path tempDir) throws Exception {
+        log.info("=== 测试游标分页 ===");
+        InMemoryOutputSink sink = generate(CodeGenConfig.builder());
+
+        String service = sink.getContent("com/example/demo/model/service/UserService.java");
+        assertNotNull(service);
+        assertTrue(service.contains("wrapper.orderBy(idColumn.asc()).limit(size + 1);"));
+        assertTrue(sink.getContent("com/example/demo/model/controller/UserController.java")
+                .contains("service.selectAfter(UserService.decodeCursor(cursor), limit,"));
+
+        // 游标编解码只依赖 JDK，取出生成的静态方法单独编译执行
+        CompilationUnit codec = new CompilationUnit();
+        CompilationUnit generated = parse(service);
+        generated.getImports().stream()
+                .filter(importDeclaration -> importDeclaration.getNameAsString().startsWith("java."))
+                .forEach(codec::addImport);
+        ClassOrInterfaceDeclaration codecType = codec.addClass("CursorCodec");
+        generated.getInterfaceByName("UserService").orElseThrow().getMethods().stream()
+                .filter(MethodDeclaration::isStatic)
+                .forEach(method -> codecType.addMember(method.clone().setPublic(true)));
+
+        try (URLClassLoader loader = compile(tempDir, "CursorCodec", codec.toString())) {
+            Class<?> codecClass = loader.loadClass("CursorCodec");
+            Method encode = codecClass.getMethod("encodeCursor", Long.class);
+            Method decode = codecClass.getMethod("decodeCursor", String.class);
+
+            String cursor = (String) encode.invoke(null, 9_007_199_254_740_993L);
+            log.info("游标: {}", cursor);
+            assertEquals(9_007_199_254_740_993L, decode.invoke(null, cursor));
+            assertNull(decode.invoke(null, (Object) null));
+            for (String invalid : List.of("not a cursor", "YWJj")) {
+                InvocationTargetException e = assertThrows(InvocationTargetException.class, () -> decode.invoke(null, invalid));
+                assertInstanceOf(IllegalArgumentException.class, e.getCause());
+            }
+        }
+    }
+
+    @Test
+    public void testStreamExport() {
+        log.info("=== 测试流式导出 ===");
+        InMemoryOutputSink sink = generate(CodeGenConfig.builder().streamExport(true).streamFetchSize(500));
+
+        String mapper = sink.getContent("com/example/demo/model/mapper/flex/UserFlexMapper.java");
+        assertNotNull(mapper);
+        assertTrue(mapper.contains("@Select(\"SELECT id, user_name AS username, email_address AS email, deleted FROM tb_user WHERE deleted = false\")"));
+        assertTrue(mapper.contains("fetchSize = 500"));
+        assertTrue(mapper.contains("resultSetType = ResultSetType.FORWARD_ONLY"));
+        assertTrue(mapper.contains("Cursor<User> streamAll();"));
+
+        String controller = sink.getContent("com/example/demo/model/controller/UserController.java");
+        assertTrue(controller.contains("@GetMapping(\"/export\")"));
+        assertTrue(controller.contains("public ResponseEntity<StreamingResponseBody> export("));
+        assertTrue(controller.contains("StreamingResponseBody body = out -> transactionTemplate.executeWithoutResult(status -> {"));
+        assertTrue(controller.contains("try (Cursor<User> cursor = service.getMapper().streamAll()) {"));
+        assertTrue(controller.contains("writer.write(\"id,username,email,deleted\\n\");"));
+        assertTrue(controller.contains("writer.write(objectMapper.writeValueAsString(dto));"));
+
+        InMemoryOutputSink disabled = generate(CodeGenConfig.builder());
+        assertFalse(disabled.getContent("com/example/demo/model/mapper/flex/UserFlexMapper.java").contains("streamAll"));
+        assertFalse(disabled.getContent("com/example/demo/model/controller/UserController.java").contains("TransactionTemplate"));
+    }
+
+    @Test
+    public void testCachingService(@TempDir Path tempDir) throws IOException {
+        log.info("=== 测试缓存装饰器 ===");
+        Map<String, Boolean> templateEnabled = withTemplates();
+        templateEnabled.put("cache:User", true);
+        InMemoryOutputSink sink = generate(CodeGenConfig.builder()
+                .templateEnabled(templateEnabled)
+                .dirtyTracking(true)
+                .cacheMaxSize(5000)
+                .cacheTtlSeconds(60));
+
+        String source = sink.getContent("com/example/demo/model/service/impl/UserCachingService.java");
+        assertNotNull(source);
+        assertTrue(source.contains("public class UserCachingService implements UserService"));
+        assertTrue(source.contains("public static final long MAX_SIZE = 5000L;"));
+        assertTrue(source.contains("public static final Duration TTL = Duration.ofSeconds(60);"));
+        assertTrue(source.contains("public UserCachingService(UserServiceImpl delegate)"));
+
+        ClassOrInterfaceDeclaration cachingService = parse(source).getClassByName("UserCachingService").orElseThrow();
+        assertEquals("return cache.get(id, delegate::selectById);", body(cachingService, "selectById"));
+        assertTrue(body(cachingService, "selectByIds").contains("cache.getAll(ids, missing ->"));
+
+        // 写操作在 finally 中失效，委托抛出异常时也不会留下旧值
+        assertTrue(body(cachingService, "updateById").contains("finally {\n    cache.invalidate(entity.getId());"));
+        assertTrue(body(cachingService, "updateFieldsById").contains("delegate.updateFieldsById(entity, fields);"));
+        assertTrue(body(cachingService, "updateFieldsById").contains("finally {\n    cache.invalidate(entity.getId());"));
+        assertTrue(body(cachingService, "deleteById").contains("finally {\n    cache.invalidate(id);"));
+        assertTrue(body(cachingService, "updateBatchById").contains("entities.forEach(entity -> cache.invalidate(entity.getId()));"));
+        assertTrue(body(cachingService, "deleteBatchByIds").contains("cache.invalidateAll(ids);"));
+        assertFalse(body(cachingService, "insertBatch").contains("cache"));
+
+        // 与其他生成文件一起编译，保证 lambda 等生成结构是合法的 Java
+        try (URLClassLoader loader = compile(tempDir, sink)) {
+            assertNotNull(loader);
+        }
+
+        // 只对启用的实体生成
+        InMemoryOutputSink disabled = generate(CodeGenConfig.builder());
+        assertNull(disabled.getContent("com/example/demo/model/service/impl/UserCachingService.java"));
+    }
+
+    @Test
+    public void testColumnProjection(@TempDir Path tempDir) throws Exception {
+        log.info("=== 测试列投影 ===");
+        InMemoryOutputSink sink = generate(CodeGenConfig.builder());
+
+        String query = sink.getContent("com/example/demo/model/query/UserQuery.java");
+        assertNotNull(query);
+        assertTrue(query.contains("EMAIL(\"email_address\")"));
+        assertTrue(query.contains("private Set<Field> fields;"));
+        assertTrue(sink.getContent("com/example/demo/model/service/UserService.java")
+                .contains("wrapper.select(query.selectColumns());"));
+
+        try (URLClassLoader loader = compile(tempDir, "com.example.demo.model.query.UserQuery", query)) {
+            Class<?> queryClass = loader.loadClass("com.example.demo.model.query.UserQuery");
+            Object userQuery = queryClass.getDeclaredConstructor().newInstance();
+            assertEquals(false, queryClass.getMethod("hasSelection").invoke(userQuery));
+
+            // 只选择邮箱时仍包含 ID 列，游标分页依赖 ID
+            Object email = loader.loadClass("com.example.demo.model.query.UserQuery$Field").getField("EMAIL").get(null);
+            Field fields = queryClass.getDeclaredField("fields");
+            fields.setAccessible(true);
+            fields.set(userQuery, Set.of(email));
+            assertEquals(true, queryClass.getMethod("hasSelection").invoke(userQuery));
+            QueryColumn[] columns = (QueryColumn[]) queryClass.getMethod("selectColumns").invoke(userQuery);
+            assertEquals(List.of("id", "email_address"), Arrays.stream(columns).map(QueryColumn::getName).toList());
+        }
+    }
+
+    @Test
+    public void testServiceImpl() {
+        log.info("=== 测试 Service 实现 ===");
+        InMemoryOutputSink sink = generate(CodeGenConfig.builder());
+
+        String source = sink.getContent("com/example/demo/model/service/impl/UserServiceImpl.java");
+        assertNotNull(source);
+        assertTrue(source.contains("@Service\npublic class UserServiceImpl implements UserService"));
+        assertTrue(source.contains("private static final QueryColumn USERNAME = new QueryColumn(\"user_name\");"));
+        assertTrue(source.contains("public UserServiceImpl(UserFlexMapper mapper) {"));
+        assertFalse(source.contains("@Autowired"));
+
+        ClassOrInterfaceDeclaration serviceImpl = parse(source).getClassByName("UserServiceImpl").orElseThrow();
+        assertEquals("return mapper;", body(serviceImpl, "getMapper"));
+        assertEquals("mapper.insert(entity);", body(serviceImpl, "insert"));
+
+        // 条件、排序和条数限制都下推到 SQL
+        String buildQueryWrapper = body(serviceImpl, "buildQueryWrapper");
+        assertTrue(buildQueryWrapper.startsWith("QueryWrapper wrapper = UserService.super.buildQueryWrapper(query);"));
+        assertTrue(buildQueryWrapper.contains("wrapper.and(EMAIL.eq(query.getEmail()));"));
+        assertTrue(buildQueryWrapper.contains("wrapper.and(USERNAME.eq(query.getUsername()));"));
+        assertTrue(body(serviceImpl, "selectList").contains("wrapper.limit(query.getLimit());"));
+        assertTrue(body(serviceImpl, "selectList").endsWith("return mapper.selectListByQuery(wrapper);"));
+        assertTrue(body(serviceImpl, "applyOrder").contains("wrapper.orderBy(Boolean.FALSE.equals(query.getAsc()) ? column.desc() : column.asc());"));
+        assertTrue(sink.getContent("com/example/demo/model/query/UserQuery.java").contains("private Integer limit;"));
+
+        Map<String, Boolean> templateEnabled = withTemplates();
+        templateEnabled.put("serviceImpl", false);
+        InMemoryOutputSink disabled = generate(CodeGenConfig.builder().templateEnabled(templateEnabled));
+        assertNull(disabled.getContent("com/example/demo/model/service/impl/UserServiceImpl.java"));
+    }
+
+    @Test
+    public void testBulkTransfer(@TempDir Path tempDir) throws Exception {
+        log.info("=== 测试批量导入导出 ===");
+        InMemoryOutputSink sink = generate(CodeGenConfig.builder().templateEnabled(withTemplates("bulk")));
+
+        String bulk = sink.getContent("com/example/demo/model/bulk/UserBulkTransfer.java");
+        assertNotNull(bulk);
+        assertTrue(bulk.contains("private static final String[] COLUMNS = {\"id\", \"user_name\", \"email_address\", \"deleted\"};"));
+        assertTrue(bulk.contains("entity.setId(Long.valueOf(values[0]));"));
+        assertTrue(bulk.contains("Db.executeBatch(batch, BATCH_SIZE, UserFlexMapper.class,"));
+        assertTrue(bulk.contains("wrapper.where(ID.gt(lastId));"));
+        assertTrue(bulk.contains("private static final QueryColumn DELETED = new QueryColumn(\"deleted\");"));
+        assertTrue(bulk.contains("wrapper.and(DELETED.eq(false));"));
+        assertTrue(bulk.contains("row.put(\"email_address\", entity.getEmail());"));
+
+        try (URLClassLoader loader = compile(tempDir, sink)) {
+            Class<?> bulkTransfer = loader.loadClass("com.example.demo.model.bulk.UserBulkTransfer");
+            assertEquals(long.class, bulkTransfer.getMethod("exportCsv", OutputStream.class).getReturnType());
+            assertEquals(long.class, bulkTransfer.getMethod("importNdjson", InputStream.class).getReturnType());
+        }
+
+        InMemoryOutputSink disabled = generate(CodeGenConfig.builder().templateEnabled(new HashMap<>()));
+        assertNull(disabled.getContent("com/example/demo/model/bulk/UserBulkTransfer.java"));
+    }
+
+    @Test
+    public void testDirtyTracking() {
+        log.info("=== 测试部分字段更新 ===");
+        InMemoryOutputSink sink = generate(CodeGenConfig.builder().dirtyTracking(true));
+
+        String dto = sink.getContent("com/example/demo/model/dto/UserDto.java");
+        assertNotNull(dto);
+        assertTrue(dto.contains("dirtyFields.add(\"email\");"));
+        assertTrue(dto.contains("public Set<String> dirtyFields()"));
+
+        String serviceImpl = sink.getContent("com/example/demo/model/service/impl/UserServiceImpl.java");
+        assertTrue(serviceImpl.contains("case \"email\" -> update.set(EMAIL, entity.getEmail());"));
+        assertFalse(serviceImpl.contains("case \"id\""));
+        assertFalse(serviceImpl.contains("case \"deleted\""));
+        assertTrue(serviceImpl.contains("update.and(DELETED.eq(false));"));
+        assertTrue(sink.getContent("com/example/demo/model/service/UserService.java")
+                .contains("void updateFieldsById(User entity, Collection<String> fields);"));
+        assertTrue(sink.getContent("com/example/demo/model/controller/UserController.java")
+                .contains("service.updateFieldsById(convertor.toEntity(dto), dto.dirtyFields());"));
+
+        InMemoryOutputSink untracked = generate(CodeGenConfig.builder());
+        assertFalse(untracked.getContent("com/example/demo/model/dto/UserDto.java").contains("dirtyFields"));
+    }
+
+    @Test
+    public void testLogicDelete() {
+        log.info("=== 测试逻辑删除与清理任务 ===");
+        InMemoryOutputSink sink = generate(CodeGenConfig.builder().templateEnabled(withTemplates("purge")));
+
+        String service = sink.getContent("com/example/demo/model/service/UserService.java");
+        assertNotNull(service);
+        assertTrue(service.contains("wrapper.and(new QueryColumn(\"deleted\").eq(false));"));
+        assertTrue(service.contains(".set(new QueryColumn(\"deleted\"), true)"));
+
+        String serviceImpl = sink.getContent("com/example/demo/model/service/impl/UserServiceImpl.java");
+        assertTrue(serviceImpl.contains("return mapper.selectOneByQuery(QueryWrapper.create().where(ID.eq(id)).and(DELETED.eq(false)));"));
+        assertTrue(serviceImpl.contains("UpdateChain.of(mapper).set(DELETED, true).where(ID.eq(id)).update();"));
+        // 删除标记在更新期间置空，结束后恢复调用方对象的原值
+        ClassOrInterfaceDeclaration userServiceImpl = parse(serviceImpl).getClassByName("UserServiceImpl").orElseThrow();
+        assertEquals("if (entity.getId() == null) {\n    throw new IllegalArgumentException(\"User ID must not be null\");\n}\n"
+                + "Boolean deleted = entity.getDeleted();\n"
+                + "entity.setDeleted(null);\n"
+                + "try {\n    mapper.updateByQuery(entity, QueryWrapper.create().where(ID.eq(entity.getId())).and(DELETED.eq(false)));\n"
+                + "} finally {\n    entity.setDeleted(deleted);\n}", body(userServiceImpl, "updateById"));
+        assertFalse(serviceImpl.contains("entity.setDeleted(false);"));
+        assertTrue(service.contains("batchMapper.updateByQuery(entity, QueryWrapper.create()"));
+        assertFalse(service.contains("entity.setDeleted(false);"));
+        String convertor = sink.getContent("com/example/demo/model/mapstruct/UserMapStructMapper.java");
+        assertTrue(convertor.contains("target = \"deleted\""));
+        assertTrue(convertor.contains("ignore = true"));
+        assertFalse(serviceImpl.contains("query.getDeleted()"));
+        assertFalse(sink.getContent("com/example/demo/model/query/UserQuery.java").contains("private Boolean deleted;"));
+        assertTrue(sink.getContent("com/example/demo/model/mapper/flex/UserFlexMapper.java")
+                .contains(".and(new QueryColumn(\"deleted\").eq(false))"));
+
+        String purgeJob = sink.getContent("com/example/demo/model/job/UserPurgeJob.java");
+        assertNotNull(purgeJob);
+        assertTrue(purgeJob.contains("cron = \"${user.purge.cron:-}\""));
+        assertTrue(purgeJob.contains("mapper.deleteByQuery(QueryWrapper.create().where(ID.in(ids)).and(DELETED.eq(true)))"));
+        assertTrue(purgeJob.contains("Thread.sleep(PAUSE_MILLIS);"));
+    }
+
+    @Test
+    public void testPurgeAnnotatedLogicDelete() {
+        log.info("=== 测试框架管理的逻辑删除字段的清理任务 ===");
+        String content = "package com.example.demo.model.dal.entity;\n\n"
+                + "import com.mybatisflex.annotation.Column;\n"
+                + "import com.mybatisflex.annotation.Id;\n"
+                + "import com.mybatisflex.annotation.Table;\n\n"
+                + "@Table(\"tb_article\")\n"
+                + "public class Article {\n"
+                + "    @Id\n"
+                + "    private Long id;\n"
+                + "    private String title;\n"
+                + "    @Column(value = \"is_removed\", isLogicDelete = true)\n"
+                + "    private Integer removed;\n"
+                + "}\n";
+        EntitySource source = entitySource("Article", content);
+        InMemoryOutputSink sink = generate(CodeGenConfig.builder().templateEnabled(withTemplates("purge")),
+                generator -> generator.generateSources(List.of(source)));
+
+        String purgeJob = sink.getContent("com/example/demo/model/job/ArticlePurgeJob.java");
+        assertNotNull(purgeJob);
+        assertTrue(purgeJob.contains("private static final QueryColumn REMOVED = new QueryColumn(\"is_removed\");"));
+        // 框架的逻辑删除处理会过滤掉已删除记录并把 DELETE 改写为 UPDATE，查询和删除都必须绕过
+        assertTrue(purgeJob.contains("LogicDeleteManager.execWithoutLogicDelete(() -> mapper.selectObjectListByQueryAs(wrapper, Long.class))"));
+        assertTrue(purgeJob.contains("LogicDeleteManager.execWithoutLogicDelete(() -> "
+                + "mapper.deleteByQuery(QueryWrapper.create().where(ID.in(ids)).and(REMOVED.eq(1))))"));
+    }
+
+    @Test
+    public void testGenerateFromSchema(@TempDir Path tempDir) throws Exception {
+        log.info("=== 测试从数据库表结构生成 ===");
+        JdbcConnectionPool dataSource = JdbcConnectionPool.create("jdbc:h2:mem:codegen_schema;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE tb_order (id BIGINT AUTO_INCREMENT PRIMARY KEY, order_no VARCHAR(64) NOT NULL, "
+                    + "amount DECIMAL(12, 2), created_at TIMESTAMP)");
+            statement.execute("COMMENT ON TABLE tb_order IS '订单'");
+            statement.execute("COMMENT ON COLUMN tb_order.order_no IS '订单号'");
+            statement.execute("COMMENT ON COLUMN tb_order.amount IS 'amount in $'");
+            statement.execute("CREATE UNIQUE INDEX uk_order_no ON tb_order (order_no)");
+            statement.execute("CREATE TABLE tb_audit_log (message VARCHAR(255))");
+            statement.execute("CREATE TABLE tb_user_role (user_id BIGINT, role_id BIGINT, PRIMARY KEY (user_id, role_id))");
+        }
+
+        try {
+            InMemoryOutputSink sink = new InMemoryOutputSink();
+            CodeGenConfig config = CodeGenConfig.builder()
+                    .basePackage("com.example.demo.model")
+                    .schemaPattern("PUBLIC")
+                    .tablePrefixes(List.of("tb_"))
+                    .outputSink(sink)
+                    .build();
+
+            List<EntitySource> entities = new CodeGenerator(config).generateFromSchema(dataSource);
+            assertEquals(1, entities.size());
+            assertEquals("Order", entities.get(0).getClassName());
+            assertNull(sink.getContent("com/example/demo/model/dal/entity/UserRole.java"));
+
+            String entity = sink.getContent("com/example/demo/model/dal/entity/Order.java");
+            assertNotNull(entity);
+            assertTrue(entity.contains("@Table(\"TB_ORDER\")"));
+            assertTrue(entity.contains("keyType = KeyType.Auto"));
+            assertTrue(entity.contains("private BigDecimal amount;"));
+            assertTrue(entity.contains("private LocalDateTime createdAt;"));
+            assertTrue(entity.contains("订单号"));
+            assertTrue(entity.contains("amount in $"));
+            assertTrue(entity.contains("unique = true"));
+            assertNotNull(sink.getContent("com/example/demo/model/service/OrderService.java"));
+            assertTrue(sink.getContent("com/example/demo/model/service/impl/OrderServiceImpl.java")
+                    .contains("new QueryColumn(\"order_no\")"));
+            assertTrue(sink.getContent("com/example/demo/model/service/OrderService.java").contains("Order selectByOrderNo(String orderNo)"));
+
+            // 编译生成的实体，自增主键通过注解声明
+            try (URLClassLoader loader = compile(tempDir, "com.example.demo.model.dal.entity.Order", entity)) {
+                Field id = loader.loadClass("com.example.demo.model.dal.entity.Order").getDeclaredField("id");
+                assertEquals(KeyType.Auto, id.getAnnotation(Id.class).keyType());
+            }
+        } finally {
+            dataSource.dispose();
+        }
+    }
+
+    @Test
+    public void testGenerationListener() {
+        log.info("=== 测试生成度量 ===");
+        CodeGenConfig config = CodeGenConfig.builder()
+                .basePackage("com.example.demo.model")
+                .outputSink(new InMemoryOutputSink())
+                .build();
+        List<TemplateExecution> executions = new CopyOnWriteArrayList<>();
+        CodeGenerator generator = new CodeGenerator(config);
+        generator.addListener(new GenerationListener() {
+            @Override
+            public void onTemplateCompleted(TemplateExecution execution) {
+                executions.add(execution);
+            }
+        });
+
+        generator.generate(User.class);
+        executions.forEach(execution -> log.info("模板执行: {}", execution));
+        assertTrue(executions.stream().anyMatch(execution -> execution.getTemplateName().equals("dto")
+                && execution.isSuccess() && execution.getFilesWritten() == 1 && execution.getRenderedBytes() > 0));
+    }
+
+    @Test
+    public void testReportEntityFailures(@TempDir Path tempDir) throws IOException {
+        log.info("=== 测试运行报告中的实体失败 ===");
+        Path reportFile = tempDir.resolve("report.json");
+        Path missing = tempDir.resolve("Missing.java");
+        CodeGenConfig config = CodeGenConfig.builder()
+                .basePackage("com.example.demo.model")
+                .outputSink(new InMemoryOutputSink())
+                .reportFile(reportFile)
+                .build();
+
+        CodeGenerator generator = new CodeGenerator(config);
+        assertThrows(RuntimeException.class, () -> generator.generateSources(List.of(
+                EntitySource.of(missing, "com.example.demo.model.dal.entity", "Missing"))));
+
+        JsonNode failures = new ObjectMapper().readTree(reportFile.toFile()).get("failures");
+        assertEquals(1, failures.size());
+        assertEquals("com.example.demo.model.dal.entity.Missing", failures.get(0).get("entityName").asText());
+        assertEquals(missing.toString(), failures.get(0).get("sourceFile").asText());
+        assertTrue(failures.get(0).get("error").asText().contains("Source file not found"));
+    }
+
+    /**
+     * 使用示例实体按给定配置生成到内存，返回输出内容
+     */
+    private static InMemoryOutputSink generate(CodeGenConfig.CodeGenConfigBuilder builder) {
+        return generate(builder, generator -> generator.generate(User.class));
+    }
+
+    /**
+     * 按给定配置生成到内存，由 run 决定生成哪些实体，返回输出内容
+     */
+    private static InMemoryOutputSink generate(CodeGenConfig.CodeGenConfigBuilder builder, Consumer<CodeGenerator> run) {
+        InMemoryOutputSink sink = new InMemoryOutputSink();
+        run.accept(new CodeGenerator(builder.basePackage("com.example.demo.model").outputSink(sink).build()));
+        return sink;
+    }
+
+    /**
+     * 实体包中的内存实体源码
+     */
+    private static EntitySource entitySource(String className, String content) {
+        return EntitySource.of(content, Paths.get("target/codegen", className + ".java"),
+                "com.example.demo.model.dal.entity", className);
+    }
+
+    /**
+     * 在默认模板开关基础上额外启用指定模板
+     */
+    private static Map<String, Boolean> withTemplates(String... templateNames) {
+        Map<String, Boolean> templateEnabled = new HashMap<>(CodeGenConfig.builder().build().getTemplateEnabled());
+        for (String templateName : templateNames) {
+            templateEnabled.put(templateName, true);
+        }
+        return templateEnabled;
+    }
+
+    /**
+     * 方法体中的语句，不含外层花括号
+     */
+    private static String body(ClassOrInterfaceDeclaration type, String methodName) {
+        return type.getMethodsByName(methodName).get(0).getBody().orElseThrow().getStatements().stream()
+                .map(Object::toString)
+                .collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * 使用 Java 17 语法级别解析生成的源码
+     */
+    private static CompilationUnit parse(String source) {
+        return new JavaParser(new ParserConfiguration().setLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_17))
+                .parse(source).getResult().orElseThrow();
+    }
+
+    /**
+     * 使用测试类路径编译生成的源码并返回加载器，不运行注解处理器
+     */
+    private static URLClassLoader compile(Path outputDir, String className, String source) throws IOException {
+        Path sourceFile = outputDir.resolve(className.replace('.', '/') + ".java");
+        Files.createDirectories(sourceFile.getParent());
+        Files.writeString(sourceFile, source);
+        return javac(outputDir, List.of(sourceFile.toString()), className);
+    }
+
+    /**
+     * 编译内存中生成的全部文件，生成类之间的引用一并检查
+     */
+    private static URLClassLoader compile(Path outputDir, InMemoryOutputSink sink) throws IOException {
+        List<String> sourceFiles = new ArrayList<>();
+        for (Map.Entry<String, byte[]> file : sink.getFiles().entrySet()) {
+            Path sourceFile = outputDir.resolve(file.getKey());
+            Files.createDirectories(sourceFile.getParent());
+            Files.write(sourceFile, file.getValue());
+            sourceFiles.add(sourceFile.toString());
+        }
+        return javac(outputDir, sourceFiles, sink.getFiles().keySet().toString());
+    }
+
+    private static URLClassLoader javac(Path outputDir, List<String> sourceFiles, String description) throws IOException {
+        // 只运行 Lombok 处理器，生成的 DTO、Query 依赖它生成访问方法
+        List<String> arguments = new ArrayList<>(List.of("-processor", "lombok.launch.AnnotationProcessorHider$AnnotationProcessor", "-encoding", "UTF-8",
+                "-classpath", System.getProperty("java.class.path"), "-d", outputDir.toString()));
+        arguments.addAll(sourceFiles);
+        int status = ToolProvider.getSystemJavaCompiler().run(null, null, null, arguments.toArray(new String[0]));
+        assertEquals(0, status, "生成的源码编译失败: " + description);
+        return new URLClassLoader(new URL[]{outputDir.toUri().toURL()}, CodeGenTest.class.getClassLoader());
+    }
+}
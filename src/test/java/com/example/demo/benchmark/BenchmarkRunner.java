@@ -0,0 +1,22 @@
+package com.example.demo.benchmark;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH 基准测试入口
+ * 用法：mvn -Pbenchmark test-compile exec:java -Dbenchmark.include=TemplateBenchmark
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : ".*Benchmark.*";
+        Options options = new OptionsBuilder()
+                .include(include)
+                .shouldFailOnError(true)
+                .build();
+        new Runner(options).run();
+    }
+}
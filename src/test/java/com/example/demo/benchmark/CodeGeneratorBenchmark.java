@@ -0,0 +1,100 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.CodeGenerator;
+import com.example.demo.codegen.config.CodeGenConfig;
+import com.example.demo.codegen.core.EntitySource;
+import com.example.demo.codegen.core.FileSystemOutputSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 端到端 CodeGenerator 基准：全量生成（每次迭代清空输出目录）与无变化的增量生成
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CodeGeneratorBenchmark {
+
+    @Param({"1", "100", "1000", "5000"})
+    private int entityCount;
+
+    @Param({"5", "50"})
+    private int fieldCount;
+
+    private Path workDir;
+    private Path outputDir;
+    private List<EntitySource> sources;
+    private CodeGenerator fullGenerator;
+    private CodeGenerator incrementalGenerator;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workDir = Files.createTempDirectory("codegen-bench");
+        Path sourceRoot = workDir.resolve("src");
+        outputDir = workDir.resolve("out");
+        sources = SyntheticEntities.write(sourceRoot, entityCount, fieldCount);
+
+        fullGenerator = new CodeGenerator(config(sourceRoot, false));
+        incrementalGenerator = new CodeGenerator(config(sourceRoot, true));
+        // 预先生成一次，使增量基准处于"无变化"状态
+        incrementalGenerator.generateSources(sources);
+    }
+
+    @Setup(Level.Iteration)
+    public void cleanOutput() {
+        SyntheticEntities.delete(outputDir.resolve("full"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SyntheticEntities.delete(workDir);
+    }
+
+    @Benchmark
+    public void fullGeneration() {
+        fullGenerator.generateSources(sources);
+    }
+
+    @Benchmark
+    public void noOpIncrementalGeneration() {
+        incrementalGenerator.generateSources(sources);
+    }
+
+    private CodeGenConfig config(Path sourceRoot, boolean incremental) {
+        String mode = incremental ? "incremental" : "full";
+        Map<String, Boolean> templateEnabled = new HashMap<>();
+        for (String template : List.of("dto", "mapper", "service", "serviceImpl", "controller", "convertor")) {
+            templateEnabled.put(template, true);
+        }
+        return CodeGenConfig.builder()
+                .basePackage(SyntheticEntities.BASE_PACKAGE)
+                .outputDir(sourceRoot)
+                .outputSink(new FileSystemOutputSink(outputDir.resolve(mode)))
+                .templateEnabled(templateEnabled)
+                .incremental(incremental)
+                .manifestFile(workDir.resolve(mode + "-manifest.properties"))
+                .build();
+    }
+}
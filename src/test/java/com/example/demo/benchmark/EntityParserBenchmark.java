@@ -0,0 +1,70 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.codegen.config.CodeGenConfig;
+import com.example.demo.codegen.core.CompilationUnitCache;
+import com.example.demo.codegen.core.EntityMetadata;
+import com.example.demo.codegen.core.EntityParser;
+import com.example.demo.codegen.core.EntitySource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EntityParser.parse 基准：冷解析（每次新建缓存）与命中缓存两种情况
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityParserBenchmark {
+
+    @Param({"5", "50", "500"})
+    private int fieldCount;
+
+    private Path workDir;
+    private EntitySource source;
+    private CodeGenConfig config;
+    private EntityParser cachedParser;
+
+    @Setup
+    public void setUp() throws IOException {
+        workDir = Files.createTempDirectory("codegen-bench");
+        source = SyntheticEntities.write(workDir, 1, fieldCount).get(0);
+        config = CodeGenConfig.builder()
+                .basePackage(SyntheticEntities.BASE_PACKAGE)
+                .outputDir(workDir)
+                .build();
+        cachedParser = new EntityParser(config, new CompilationUnitCache(16));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SyntheticEntities.delete(workDir);
+    }
+
+    @Benchmark
+    public EntityMetadata parseCold() throws IOException {
+        return new EntityParser(config, new CompilationUnitCache(1)).parse(source);
+    }
+
+    @Benchmark
+    public EntityMetadata parseCached() throws IOException {
+        return cachedParser.parse(source);
+    }
+}
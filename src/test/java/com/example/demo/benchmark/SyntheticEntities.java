@@ -0,0 +1,92 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.codegen.core.EntitySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 基准测试使用的合成实体源码
+ */
+final class SyntheticEntities {
+
+    static final String BASE_PACKAGE = "com.example.bench.model";
+
+    static final String ENTITY_PACKAGE = BASE_PACKAGE + ".dal.entity";
+
+    private static final String[] FIELD_TYPES = {"String", "Integer", "LocalDateTime", "BigDecimal", "Boolean", "Long"};
+
+    private SyntheticEntities() {
+    }
+
+    /**
+     * 在源码目录下生成 entityCount 个实体，每个实体 fieldCount 个字段（含 @Id）
+     */
+    static List<EntitySource> write(Path sourceRoot, int entityCount, int fieldCount) throws IOException {
+        Path packageDir = sourceRoot.resolve(ENTITY_PACKAGE.replace('.', '/'));
+        Files.createDirectories(packageDir);
+
+        List<EntitySource> sources = new ArrayList<>(entityCount);
+        for (int i = 0; i < entityCount; i++) {
+            String className = "Entity" + i;
+            Path sourceFile = packageDir.resolve(className + ".java");
+            Files.writeString(sourceFile, source(className, fieldCount));
+            sources.add(EntitySource.of(sourceFile, ENTITY_PACKAGE, className));
+        }
+        return sources;
+    }
+
+    /**
+     * 生成单个实体的源码
+     */
+    static String source(String className, int fieldCount) {
+        StringBuilder source = new StringBuilder(256 + fieldCount * 96);
+        source.append("package ").append(ENTITY_PACKAGE).append(";\n\n")
+                .append("import com.mybatisflex.annotation.Column;\n")
+                .append("import com.mybatisflex.annotation.Id;\n")
+                .append("import com.mybatisflex.annotation.Table;\n")
+                .append("import lombok.Data;\n\n")
+                .append("import java.math.BigDecimal;\n")
+                .append("import java.time.LocalDateTime;\n\n")
+                .append("/**\n * ").append(className).append(" 合成实体\n */\n")
+                .append("@Data\n")
+                .append("@Table(\"tb_").append(className.toLowerCase()).append("\")\n")
+                .append("public class ").append(className).append(" {\n\n")
+                .append("    /**\n     * 主键\n     */\n")
+                .append("    @Id\n")
+                .append("    private Long id;\n");
+        for (int i = 1; i < fieldCount; i++) {
+            String type = FIELD_TYPES[i % FIELD_TYPES.length];
+            source.append("\n    /**\n     * 字段").append(i).append("\n     */\n")
+                    .append("    @Column(\"column_").append(i).append("\")\n")
+                    .append("    private ").append(type).append(" field").append(i).append(";\n");
+        }
+        return source.append("}\n").toString();
+    }
+
+    /**
+     * 递归删除目录
+     */
+    static void delete(Path root) {
+        if (root == null || !Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
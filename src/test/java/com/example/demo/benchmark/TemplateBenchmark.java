@@ -0,0 +1,91 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.codegen.config.CodeGenConfig;
+import com.example.demo.codegen.core.CodeTemplate;
+import com.example.demo.codegen.core.CompilationUnitCache;
+import com.example.demo.codegen.core.EntityMetadata;
+import com.example.demo.codegen.core.EntityParser;
+import com.example.demo.codegen.core.FileSystemOutputSink;
+import com.example.demo.codegen.template.ControllerCodeTemplate;
+import com.example.demo.codegen.template.ConvertorCodeTemplate;
+import com.example.demo.codegen.template.DtoCodeTemplate;
+import com.example.demo.codegen.template.MapperCodeTemplate;
+import com.example.demo.codegen.template.ServiceCodeTemplate;
+import com.example.demo.codegen.template.ServiceImplCodeTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单个 CodeTemplate.generate 基准，输出写入临时目录（内容不变时只有渲染与比较的开销）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateBenchmark {
+
+    @Param({"dto", "mapper", "service", "serviceImpl", "controller", "convertor"})
+    private String template;
+
+    @Param({"5", "50", "500"})
+    private int fieldCount;
+
+    private Path workDir;
+    private CodeTemplate codeTemplate;
+    private EntityMetadata metadata;
+    private CodeGenConfig entityConfig;
+
+    @Setup
+    public void setUp() throws IOException {
+        workDir = Files.createTempDirectory("codegen-bench");
+        Path sourceRoot = workDir.resolve("src");
+        CodeGenConfig config = CodeGenConfig.builder()
+                .basePackage(SyntheticEntities.BASE_PACKAGE)
+                .outputDir(sourceRoot)
+                .outputSink(new FileSystemOutputSink(workDir.resolve("out")))
+                .build();
+        metadata = new EntityParser(config, new CompilationUnitCache(1))
+                .parse(SyntheticEntities.write(sourceRoot, 1, fieldCount).get(0));
+        entityConfig = config.forBasePackage(metadata.getBasePackage());
+        codeTemplate = createTemplate(template);
+    }
+
+    @TearDown
+    public void tearDown() {
+        SyntheticEntities.delete(workDir);
+    }
+
+    @Benchmark
+    public void generate() throws IOException {
+        codeTemplate.generate(metadata, entityConfig);
+    }
+
+    private static CodeTemplate createTemplate(String name) {
+        return switch (name) {
+            case "dto" -> new DtoCodeTemplate();
+            case "mapper" -> new MapperCodeTemplate();
+            case "service" -> new ServiceCodeTemplate();
+            case "serviceImpl" -> new ServiceImplCodeTemplate();
+            case "controller" -> new ControllerCodeTemplate();
+            case "convertor" -> new ConvertorCodeTemplate();
+            default -> throw new IllegalArgumentException("Unknown template: " + name);
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.codegen.config.CodeGenConfig;
+import com.example.demo.codegen.core.CompilationUnitCache;
+import com.example.demo.codegen.core.EntityParser;
+import com.example.demo.codegen.core.TemplateUtils;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.squareup.javapoet.TypeName;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TemplateUtils.getColumnName / resolveTypeName 基准，每次操作处理实体的全部字段
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateUtilsBenchmark {
+
+    @Param({"5", "50", "500"})
+    private int fieldCount;
+
+    private Path workDir;
+    private List<FieldDeclaration> fields;
+
+    @Setup
+    public void setUp() throws IOException {
+        workDir = Files.createTempDirectory("codegen-bench");
+        CodeGenConfig config = CodeGenConfig.builder()
+                .basePackage(SyntheticEntities.BASE_PACKAGE)
+                .outputDir(workDir)
+                .build();
+        fields = new EntityParser(config, new CompilationUnitCache(1))
+                .parse(SyntheticEntities.write(workDir, 1, fieldCount).get(0))
+                .getFields();
+    }
+
+    @TearDown
+    public void tearDown() {
+        SyntheticEntities.delete(workDir);
+    }
+
+    @Benchmark
+    public void getColumnName(Blackhole blackhole) {
+        for (FieldDeclaration field : fields) {
+            blackhole.consume(TemplateUtils.getColumnName(field, field.getVariable(0).getNameAsString()));
+        }
+    }
+
+    @Benchmark
+    public void resolveTypeName(Blackhole blackhole) {
+        for (FieldDeclaration field : fields) {
+            TypeName typeName = TemplateUtils.resolveTypeName(field.getVariable(0).getTypeAsString());
+            blackhole.consume(typeName);
+        }
+    }
+}